@@ -0,0 +1,132 @@
+package com.library.management.jmh;
+
+import com.library.management.entity.Book;
+import com.library.management.repository.BookRepository;
+import com.library.management.search.BookSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalog search over {@code books} titles, answered either by the in-memory trigram index or by
+ * the {@code LIKE '%q%'} query behind {@code BookRepository.findByTitleContainingOrAuthorContaining},
+ * which search falls back to while the index is building. The query runs on an embedded H2 table
+ * with case-insensitive comparison, like MySQL's default collation. Queries: a selective one, an
+ * author one, and a two-letter one that the index answers from its word-prefix postings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class BookSearchBenchmark {
+
+    // The statement Hibernate generates for the derived query
+    private static final String LIKE_QUERY = "select id, title, author, total_copies, available_copies, available "
+            + "from books where title like ? escape '\\' or author like ? escape '\\'";
+
+    private static final int INSERT_BATCH_SIZE = 10_000;
+
+    @Param({"100000", "1000000", "3000000"})
+    public int books;
+
+    @Param({"index", "like"})
+    public String engine;
+
+    private BookSearchIndex index;
+    private Connection connection;
+    private PreparedStatement like;
+
+    @Setup
+    public void setUp() throws SQLException {
+        if (engine.equals("index")) {
+            index = new BookSearchIndex(Fixtures.stub(BookRepository.class), 100);
+            for (int i = 1; i <= books; i++) {
+                index.add(Fixtures.book(i));
+            }
+            return;
+        }
+
+        connection = DriverManager.getConnection("jdbc:h2:mem:search;MODE=MySQL;IGNORECASE=TRUE", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table books (id bigint primary key, title varchar(255) not null, "
+                    + "author varchar(255) not null, total_copies int not null, available_copies int not null, "
+                    + "available boolean not null)");
+            statement.execute("create index idx_books_title_id on books (title, id)");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("insert into books values (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= books; i++) {
+                Book book = Fixtures.book(i);
+                insert.setLong(1, book.getId());
+                insert.setString(2, book.getTitle());
+                insert.setString(3, book.getAuthor());
+                insert.setInt(4, book.getTotalCopies());
+                insert.setInt(5, book.getAvailableCopies());
+                insert.setBoolean(6, book.getAvailable());
+                insert.addBatch();
+                if (i % INSERT_BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        like = connection.prepareStatement(LIKE_QUERY);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public List<Long> selectiveQuery() throws SQLException {
+        return search("volume 4242");
+    }
+
+    @Benchmark
+    public List<Long> authorQuery() throws SQLException {
+        return search("author 17");
+    }
+
+    @Benchmark
+    public List<Long> shortQuery() throws SQLException {
+        return search("vo");
+    }
+
+    private List<Long> search(String query) throws SQLException {
+        if (index != null) {
+            return index.search(query);
+        }
+        like.setString(1, "%" + query + "%");
+        like.setString(2, "%" + query + "%");
+        List<Long> ids = new ArrayList<>();
+        try (ResultSet rows = like.executeQuery()) {
+            while (rows.next()) {
+                ids.add(rows.getLong(1));
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,114 @@
+package com.library.management.jmh;
+
+import com.library.management.cache.AvailabilityCounter;
+import com.library.management.cache.BorrowStamps;
+import com.library.management.cache.CatalogVersion;
+import com.library.management.dto.BatchResult;
+import com.library.management.dto.BookDto;
+import com.library.management.dto.BookSort;
+import com.library.management.dto.CursorPage;
+import com.library.management.entity.Book;
+import com.library.management.entity.User;
+import com.library.management.outbox.Outbox;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.BorrowRepository;
+import com.library.management.repository.UserRepository;
+import com.library.management.search.BookSearchIndex;
+import com.library.management.search.BookSuggester;
+import com.library.management.service.AuthService;
+import com.library.management.service.BookService;
+import com.library.management.service.BorrowService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Entity-to-DTO mapping in the services over lists of {@code size} rows, with the repositories
+ * stubbed to return prepared entities so only the service code is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private BookService bookService;
+    private BorrowService borrowService;
+    private List<Long> bookIds;
+
+    @Setup
+    public void setUp() {
+        User user = Fixtures.user();
+        List<Book> books = Fixtures.books(size);
+        bookIds = books.stream().map(Book::getId).collect(Collectors.toList());
+
+        BookRepository bookRepository = Fixtures.stub(BookRepository.class);
+        when(bookRepository.findPageById(anyLong(), any(Pageable.class))).thenReturn(books);
+        when(bookRepository.findByTitleContainingOrAuthorContaining(anyString(), anyString())).thenReturn(books);
+        int[] updated = new int[size];
+        Arrays.fill(updated, 1);
+        when(bookRepository.markReturnedAll(anyList())).thenReturn(updated);
+
+        // The search index is left unbuilt, so searchBooks maps the repository result directly
+        // A real counter: stubbed per-item calls would cost more than the mapping being measured
+        AvailabilityCounter availabilityCounter = new AvailabilityCounter(bookRepository, size, 8, 60_000);
+        CatalogVersion catalogVersion = new CatalogVersion();
+        BorrowStamps borrowStamps = new BorrowStamps(1_000, 60_000);
+        Outbox outbox = Fixtures.stub(Outbox.class);
+        bookService = new BookService(bookRepository, Fixtures.stub(BookSearchIndex.class),
+                Fixtures.stub(BookSuggester.class), availabilityCounter, catalogVersion, borrowStamps, outbox);
+        ReflectionTestUtils.setField(bookService, "defaultPageSize", size);
+        ReflectionTestUtils.setField(bookService, "maxPageSize", size);
+
+        // returnBooks clears the open-book id it groups by, so every call gets fresh borrows
+        BorrowRepository borrowRepository = Fixtures.stub(BorrowRepository.class);
+        when(borrowRepository.findOpenByUserIdAndBookIds(anyLong(), anyCollection()))
+                .thenAnswer(invocation -> Fixtures.openBorrows(user, books));
+        AuthService authService = Fixtures.stub(AuthService.class);
+        when(authService.getCurrentUser()).thenReturn(user);
+        borrowService = new BorrowService(Fixtures.stub(UserRepository.class), borrowRepository, bookRepository,
+                bookService, authService, availabilityCounter, catalogVersion, borrowStamps, outbox);
+        ReflectionTestUtils.setField(borrowService, "maxBatchSize", size);
+    }
+
+    @Benchmark
+    public CursorPage<BookDto> bookPage() {
+        return bookService.getAllBooks(null, size, BookSort.ID);
+    }
+
+    @Benchmark
+    public List<BookDto> bookSearchResults() {
+        return bookService.searchBooks("volume");
+    }
+
+    @Benchmark
+    public BatchResult batchReturn() {
+        return borrowService.returnBooks(bookIds);
+    }
+}
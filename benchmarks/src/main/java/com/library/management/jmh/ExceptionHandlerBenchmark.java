@@ -0,0 +1,68 @@
+package com.library.management.jmh;
+
+import com.library.management.dto.BookDto;
+import com.library.management.dto.ErrorResponse;
+import com.library.management.exception.GlobalExceptionHandler;
+import com.library.management.exception.ResourceNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Error responses as clients see them most often: a missing book, including creating the
+ * exception and its stack trace, and a request body failing bean validation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private MockHttpServletRequest request;
+    private MethodArgumentNotValidException validationException;
+
+    @Setup
+    public void setUp() throws Exception {
+        handler = new GlobalExceptionHandler();
+        request = new MockHttpServletRequest("GET", "/books/42");
+
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new BookDto(), "bookDto");
+        bindingResult.rejectValue("title", "NotBlank", "Title is required");
+        bindingResult.rejectValue("author", "NotBlank", "Author is required");
+        bindingResult.rejectValue("totalCopies", "Min", "must be greater than or equal to 1");
+        MethodParameter parameter = new MethodParameter(
+                ExceptionHandlerBenchmark.class.getDeclaredMethod("target", BookDto.class), 0);
+        validationException = new MethodArgumentNotValidException(parameter, bindingResult);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> resourceNotFound() {
+        return handler.handleResourceNotFoundException(new ResourceNotFoundException("Book", "id", 42L), request);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> validationFailure() {
+        return handler.handleMethodArgumentNotValidException(validationException, request);
+    }
+
+    @SuppressWarnings("unused")
+    private void target(BookDto bookDto) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.library.management.jmh;
+
+import com.library.management.entity.Book;
+import com.library.management.entity.Borrow;
+import com.library.management.entity.User;
+import com.library.management.service.JwtService;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Builds the objects the benchmarks share, outside of Spring.
+ */
+final class Fixtures {
+
+    static final String JWT_SECRET = "TestJWTSecretKeydgbggdngrnhrnrnhrhhnrhnrnhrnhrvguv";
+
+    private Fixtures() {
+    }
+
+    static JwtService jwtService() {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "jwtSecret", JWT_SECRET);
+        ReflectionTestUtils.setField(service, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(service, "refreshExpiration", 604_800_000L);
+        ReflectionTestUtils.invokeMethod(service, "init");
+        return service;
+    }
+
+    static User user() {
+        return User.builder()
+                .id(42L)
+                .username("reader42")
+                .email("reader42@example.com")
+                .password("$2a$10$abcdefghijklmnopqrstuuF0Tqu2JzW2X1xQp2d8T6L2S0m4P3n0a")
+                .role(User.Role.USER)
+                .tokenEpoch(0)
+                .build();
+    }
+
+    static List<Book> books(int count) {
+        List<Book> books = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            books.add(book(i));
+        }
+        return books;
+    }
+
+    static Book book(int i) {
+        return Book.builder()
+                .id((long) i)
+                .title("The Collected Works Volume " + i)
+                .author("Author " + (i % 500))
+                .totalCopies(3)
+                .availableCopies(i % 4)
+                .available(i % 4 > 0)
+                .build();
+    }
+
+    static List<Borrow> openBorrows(User user, List<Book> books) {
+        LocalDateTime borrowedAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        List<Borrow> borrows = new ArrayList<>(books.size());
+        for (Book book : books) {
+            borrows.add(Borrow.builder()
+                    .id(book.getId())
+                    .user(user)
+                    .book(book)
+                    .borrowedAt(borrowedAt)
+                    .openBookId(book.getId())
+                    .build());
+        }
+        return borrows;
+    }
+
+    /**
+     * Mocks that do not record invocations, so memory stays flat over millions of calls.
+     */
+    static <T> T stub(Class<T> type) {
+        return Mockito.mock(type, withSettings().stubOnly());
+    }
+}
@@ -0,0 +1,85 @@
+package com.library.management.jmh;
+
+import com.library.management.cache.VerifiedTokenCache;
+import com.library.management.config.JwtAuthenticationFilter;
+import com.library.management.entity.User;
+import com.library.management.service.CurrentUserContext;
+import com.library.management.service.JwtService;
+import com.library.management.service.TokenEpochService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * One authenticated request through the JWT filter with the real token service and token cache,
+ * and the revocation check and request-scoped user holder stubbed out. {@code cachedToken} is the
+ * common case of a client reusing its token; {@code uncachedToken} pays for signature verification.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtAuthenticationFilter filter;
+    private VerifiedTokenCache verifiedTokenCache;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = Fixtures.jwtService();
+        verifiedTokenCache = new VerifiedTokenCache(10_000, 300_000);
+        TokenEpochService tokenEpochService = Fixtures.stub(TokenEpochService.class);
+        when(tokenEpochService.isCurrent(any(User.class))).thenReturn(true);
+        CurrentUserContext currentUserContext = Fixtures.stub(CurrentUserContext.class);
+        filter = new JwtAuthenticationFilter(jwtService, verifiedTokenCache, tokenEpochService, currentUserContext);
+
+        request = new MockHttpServletRequest("GET", "/books");
+        request.addHeader("Authorization", "Bearer " + jwtService.generateToken(Fixtures.user()));
+        response = new MockHttpServletResponse();
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void cachedToken(Blackhole blackhole) throws Exception {
+        authenticate(blackhole);
+    }
+
+    @Benchmark
+    public void uncachedToken(Blackhole blackhole) throws Exception {
+        verifiedTokenCache.invalidateAll();
+        authenticate(blackhole);
+    }
+
+    private void authenticate(Blackhole blackhole) throws Exception {
+        // OncePerRequestFilter marks the request as filtered; a fresh attribute set means a new request
+        request.clearAttributes();
+        filter.doFilter(request, response, (req, res) ->
+                blackhole.consume(SecurityContextHolder.getContext().getAuthentication()));
+        SecurityContextHolder.clearContext();
+    }
+}
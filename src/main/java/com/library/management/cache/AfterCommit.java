@@ -0,0 +1,52 @@
+package com.library.management.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory changes that mirror a database write until the surrounding transaction has
+ * finished, so no other thread sees state from a transaction that then rolls back. Outside a
+ * transaction the change runs at once.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Runs the change once the current transaction completes, unless it rolled back. An unknown
+     * outcome may still have committed, so the change runs then too.
+     */
+    public static void run(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) {
+                    change.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * Runs the undo once the current transaction completes without a confirmed commit. Does
+     * nothing outside a transaction.
+     */
+    public static void unlessCommitted(Runnable undo) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    undo.run();
+                }
+            }
+        });
+    }
+}
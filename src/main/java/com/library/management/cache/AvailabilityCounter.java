@@ -0,0 +1,115 @@
+package com.library.management.cache;
+
+import com.library.management.repository.BookRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * In-process copy counts for recently borrowed titles, held as {@link StripedPermits} so that a
+ * burst of borrowers on one hot title does not serialize on a single counter or row lock.
+ * The counter only fails fast: a granted permit must still win the conditional update in the
+ * database, and counters are reloaded after {@code app.availability.ttl} so copies returned
+ * through another instance become visible again.
+ */
+@Component
+public class AvailabilityCounter implements MeterBinder {
+
+    private final BookRepository bookRepository;
+    private final ExpiringCache<Long, StripedPermits> counters;
+    private final int stripes;
+    private final long ttl;
+
+    private final LongAdder rejections = new LongAdder();
+
+    public AvailabilityCounter(BookRepository bookRepository,
+                               @Value("${app.availability.max-titles:10000}") int maxTitles,
+                               @Value("${app.availability.stripes:8}") int stripes,
+                               @Value("${app.availability.ttl:2000}") long ttl) {
+        this.bookRepository = bookRepository;
+        this.counters = new ExpiringCache<>(maxTitles);
+        this.stripes = stripes;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Takes one copy of the book from the local counter. Returns {@code false} when no copy is
+     * left or the book does not exist. Inside a transaction the copy is handed back if the
+     * transaction rolls back.
+     */
+    public boolean tryAcquire(Long bookId) {
+        return tryAcquire(bookId, () -> bookRepository.findAvailableCopiesById(bookId).orElse(null));
+    }
+
+    /**
+     * Same as {@link #tryAcquire(Long)} for callers that already read the copy count in this
+     * transaction, so a missing counter is seeded without another query.
+     */
+    public boolean tryAcquire(Long bookId, int availableCopies) {
+        return tryAcquire(bookId, () -> availableCopies);
+    }
+
+    private boolean tryAcquire(Long bookId, Supplier<Integer> loader) {
+        StripedPermits permits = counters.get(bookId);
+        if (permits == null) {
+            Integer availableCopies = loader.get();
+            if (availableCopies == null) {
+                return false;
+            }
+            permits = new StripedPermits(availableCopies, stripes);
+            counters.put(bookId, permits, System.currentTimeMillis() + ttl);
+        }
+
+        if (!permits.tryAcquire()) {
+            rejections.increment();
+            return false;
+        }
+
+        AfterCommit.unlessCommitted(permits::release);
+        return true;
+    }
+
+    /**
+     * Puts a returned copy back, once the surrounding transaction (if any) has committed.
+     */
+    public void release(Long bookId) {
+        AfterCommit.run(() -> releaseNow(bookId));
+    }
+
+    /**
+     * Drops the local counter so the next borrow reloads it from the database.
+     */
+    public void invalidate(Long bookId) {
+        counters.invalidate(bookId);
+    }
+
+    public Integer availableCopies(Long bookId) {
+        StripedPermits permits = counters.get(bookId);
+        return permits == null ? null : permits.available();
+    }
+
+    public long rejectionCount() {
+        return rejections.sum();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        counters.bindTo(registry, "bookAvailability");
+        FunctionCounter.builder("books.availability.rejections", this, AvailabilityCounter::rejectionCount)
+                .description("Borrows turned away by the in-process counter without touching the database")
+                .register(registry);
+    }
+
+    private void releaseNow(Long bookId) {
+        StripedPermits permits = counters.get(bookId);
+        if (permits != null) {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.library.management.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user stamp that changes whenever the user's borrow history may have changed. Stamps come
+ * from one increasing sequence, and a user without a stamp (never seen, evicted or expired) is
+ * given a fresh one, so a lost stamp can only make a client refetch, never keep an old history.
+ */
+@Component
+public class BorrowStamps implements MeterBinder {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final ExpiringCache<Long, Long> stamps;
+    private final long ttl;
+
+    public BorrowStamps(@Value("${app.etag.history.max-users:100000}") int maxUsers,
+                        @Value("${app.etag.history.ttl:3600000}") long ttl) {
+        this.stamps = new ExpiringCache<>(maxUsers);
+        this.ttl = ttl;
+    }
+
+    public long current(Long userId) {
+        Long stamp = stamps.get(userId);
+        if (stamp == null) {
+            stamp = sequence.incrementAndGet();
+            stamps.put(userId, stamp, System.currentTimeMillis() + ttl);
+        }
+        return stamp;
+    }
+
+    /**
+     * Gives the user a new stamp once the current transaction has committed.
+     */
+    public void touch(Long userId) {
+        AfterCommit.run(() -> stamps.put(userId, sequence.incrementAndGet(), System.currentTimeMillis() + ttl));
+    }
+
+    /**
+     * For changes that can show up in anyone's history, such as a book being renamed or deleted.
+     */
+    public void touchAll() {
+        AfterCommit.run(stamps::invalidateAll);
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        stamps.bindTo(registry, "borrowStamps");
+    }
+}
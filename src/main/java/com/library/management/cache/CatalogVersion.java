@@ -0,0 +1,40 @@
+package com.library.management.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counter bumped by every change to the catalog: book edits and copy counts moved by borrows and
+ * returns. Anything derived from catalog rows records the version it started from and is stale
+ * once the version has moved on. Inside a transaction the bump happens after completion, so a
+ * reader that sees the old version cannot have read the uncommitted change.
+ */
+@Component
+public class CatalogVersion {
+
+    private final AtomicLong version = new AtomicLong();
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    public long current() {
+        return version.get();
+    }
+
+    public void bump() {
+        AfterCommit.run(this::increment);
+    }
+
+    /**
+     * Runs the listener on the bumping thread after each change; it must not block.
+     */
+    public void onChange(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    private void increment() {
+        version.incrementAndGet();
+        listeners.forEach(Runnable::run);
+    }
+}
@@ -0,0 +1,145 @@
+package com.library.management.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Small bounded in-process cache where every entry carries its own expiry time.
+ * When the cache is full, expired entries are purged first and then arbitrary entries are
+ * evicted until there is room again.
+ */
+public class ExpiringCache<K, V> {
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock purgeLock = new ReentrantLock();
+    private final int maxSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ExpiringCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            if (entries.remove(key, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value();
+    }
+
+    public void put(K key, V value, long expiresAt) {
+        if (expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        if (entries.size() >= maxSize && !entries.containsKey(key)) {
+            makeRoom();
+        }
+        entries.put(key, new Entry<>(value, expiresAt));
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public double hitRatio() {
+        long hitCount = hitCount();
+        long requests = hitCount + missCount();
+        return requests == 0 ? 0.0 : (double) hitCount / requests;
+    }
+
+    /**
+     * Registers the usual Micrometer cache meters ({@code cache.gets}, {@code cache.evictions},
+     * {@code cache.size}) plus {@code cache.hit.ratio}, tagged with the given cache name.
+     */
+    public void bindTo(MeterRegistry registry, String cacheName) {
+        FunctionCounter.builder("cache.gets", this, ExpiringCache::hitCount)
+                .tags("cache", cacheName, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", this, ExpiringCache::missCount)
+                .tags("cache", cacheName, "result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", this, ExpiringCache::evictionCount)
+                .tag("cache", cacheName)
+                .register(registry);
+        Gauge.builder("cache.size", this, ExpiringCache::size)
+                .tag("cache", cacheName)
+                .register(registry);
+        Gauge.builder("cache.hit.ratio", this, ExpiringCache::hitRatio)
+                .tag("cache", cacheName)
+                .register(registry);
+    }
+
+    private void makeRoom() {
+        if (!purgeLock.tryLock()) {
+            evictOne();
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            entries.forEach((key, entry) -> {
+                if (entry.expiresAt() <= now && entries.remove(key, entry)) {
+                    evictions.increment();
+                }
+            });
+            while (entries.size() >= maxSize) {
+                evictOne();
+            }
+        } finally {
+            purgeLock.unlock();
+        }
+    }
+
+    private void evictOne() {
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.library.management.cache;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Permit counter split over several slots, each on its own cache line. A thread starts at the
+ * slot picked by its identity and only moves on to the others when that slot is empty, so
+ * concurrent acquirers mostly CAS different memory.
+ */
+final class StripedPermits {
+
+    // 16 ints fill a 64-byte cache line, so neighbouring slots never share one
+    private static final int PADDING = 16;
+
+    private final AtomicIntegerArray slots;
+    private final int stripes;
+
+    StripedPermits(int permits, int stripes) {
+        this.stripes = stripes;
+        this.slots = new AtomicIntegerArray(stripes * PADDING);
+        for (int i = 0; i < stripes; i++) {
+            slots.set(i * PADDING, permits / stripes + (i < permits % stripes ? 1 : 0));
+        }
+    }
+
+    boolean tryAcquire() {
+        int home = home();
+        for (int i = 0; i < stripes; i++) {
+            int index = ((home + i) % stripes) * PADDING;
+            int current;
+            while ((current = slots.get(index)) > 0) {
+                if (slots.compareAndSet(index, current, current - 1)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    void release() {
+        slots.getAndIncrement(home() * PADDING);
+    }
+
+    int available() {
+        int sum = 0;
+        for (int i = 0; i < stripes; i++) {
+            sum += slots.get(i * PADDING);
+        }
+        return sum;
+    }
+
+    private int home() {
+        int hash = System.identityHashCode(Thread.currentThread());
+        return ((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % stripes;
+    }
+}
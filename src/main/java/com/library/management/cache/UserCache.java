@@ -0,0 +1,85 @@
+package com.library.management.cache;
+
+import com.library.management.entity.User;
+import com.library.management.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Read-through cache in front of {@link UserRepository} for the hot user lookups, keyed by both
+ * username and id. Cached users are detached copies without the {@code borrows} collection, so they
+ * are safe to share between requests. Every code path that writes a user must call {@link #evict}.
+ */
+@Component
+public class UserCache implements MeterBinder {
+
+    private final UserRepository userRepository;
+    private final ExpiringCache<String, User> byUsername;
+    private final ExpiringCache<Long, User> byId;
+    private final long ttl;
+
+    public UserCache(UserRepository userRepository,
+                     @Value("${app.users.cache.max-size:10000}") int maxSize,
+                     @Value("${app.users.cache.ttl:60000}") long ttl) {
+        this.userRepository = userRepository;
+        this.byUsername = new ExpiringCache<>(maxSize);
+        this.byId = new ExpiringCache<>(maxSize);
+        this.ttl = ttl;
+    }
+
+    public Optional<User> findByUsername(String username) {
+        User user = byUsername.get(username);
+        if (user != null) {
+            return Optional.of(user);
+        }
+        return userRepository.findByUsername(username).map(this::store);
+    }
+
+    public Optional<User> findById(Long id) {
+        User user = byId.get(id);
+        if (user != null) {
+            return Optional.of(user);
+        }
+        return userRepository.findById(id).map(this::store);
+    }
+
+    public void evict(User user) {
+        if (user.getUsername() != null) {
+            byUsername.invalidate(user.getUsername());
+        }
+        if (user.getId() != null) {
+            byId.invalidate(user.getId());
+        }
+    }
+
+    public void evictAll() {
+        byUsername.invalidateAll();
+        byId.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        byUsername.bindTo(registry, "usersByUsername");
+        byId.bindTo(registry, "usersById");
+    }
+
+    private User store(User user) {
+        User copy = User.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .password(user.getPassword())
+                .role(user.getRole())
+                .tokenEpoch(user.getTokenEpoch())
+                .build();
+        long expiresAt = System.currentTimeMillis() + ttl;
+        byUsername.put(copy.getUsername(), copy, expiresAt);
+        byId.put(copy.getId(), copy, expiresAt);
+        return copy;
+    }
+}
@@ -0,0 +1,64 @@
+package com.library.management.cache;
+
+import com.library.management.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Remembers access tokens that already passed signature and expiry checks together with the
+ * principal rebuilt from their claims, so repeat requests with the same token skip JWT parsing.
+ * Entries are keyed by a SHA-256 digest of the token and never outlive the token itself or
+ * {@code app.jwt.cache.max-ttl}.
+ */
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+    private final ExpiringCache<String, User> cache;
+    private final long maxTtl;
+
+    public VerifiedTokenCache(@Value("${app.jwt.cache.max-size:10000}") int maxSize,
+                              @Value("${app.jwt.cache.max-ttl:300000}") long maxTtl) {
+        this.cache = new ExpiringCache<>(maxSize);
+        this.maxTtl = maxTtl;
+    }
+
+    public User get(String token) {
+        return cache.get(digest(token));
+    }
+
+    public void put(String token, User principal, Date tokenExpiration) {
+        long expiresAt = Math.min(tokenExpiration.getTime(), System.currentTimeMillis() + maxTtl);
+        cache.put(digest(token), principal, expiresAt);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public ExpiringCache<String, User> getCache() {
+        return cache;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        cache.bindTo(registry, "verifiedTokens");
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.library.management.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.management.dto.ErrorResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles {@code POST /auth/login} and {@code POST /auth/signup} with one token bucket per client
+ * address and one per username, before the request reaches password hashing or the database.
+ * The JSON body is buffered so the username can be read here and the controller still sees it;
+ * bodies over {@value #MAX_BODY_BYTES} bytes are rejected with 413, since they could not be
+ * throttled by username.
+ */
+@Component
+public class AuthRateLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Map<String, Endpoint> endpoints;
+
+    public AuthRateLimitFilter(ObjectMapper objectMapper,
+                               @Value("${app.rate-limit.enabled:true}") boolean enabled,
+                               @Value("${app.rate-limit.period:60000}") long periodMillis,
+                               @Value("${app.rate-limit.max-keys:100000}") int maxKeys,
+                               @Value("${app.rate-limit.login.per-ip:30}") int loginPerIp,
+                               @Value("${app.rate-limit.login.per-username:10}") int loginPerUsername,
+                               @Value("${app.rate-limit.signup.per-ip:10}") int signupPerIp,
+                               @Value("${app.rate-limit.signup.per-username:5}") int signupPerUsername) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.endpoints = Map.of(
+                "/auth/login", new Endpoint("login",
+                        new TokenBucketLimiter(loginPerIp, periodMillis, maxKeys),
+                        new TokenBucketLimiter(loginPerUsername, periodMillis, maxKeys)),
+                "/auth/signup", new Endpoint("signup",
+                        new TokenBucketLimiter(signupPerIp, periodMillis, maxKeys),
+                        new TokenBucketLimiter(signupPerUsername, periodMillis, maxKeys)));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || !"POST".equals(request.getMethod()) || endpointOf(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        Endpoint endpoint = endpointOf(request);
+
+        long wait = endpoint.byIp().tryAcquire(request.getRemoteAddr());
+        if (wait > 0) {
+            reject(request, response, wait);
+            return;
+        }
+
+        // A chunked body has no declared length, so its size is only known once read
+        BufferedBodyRequest buffered = null;
+        if (request.getContentLengthLong() <= MAX_BODY_BYTES) {
+            buffered = new BufferedBodyRequest(request);
+        }
+        if (buffered == null || buffered.body.length > MAX_BODY_BYTES) {
+            error(request, response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body exceeds " + MAX_BODY_BYTES + " bytes");
+            return;
+        }
+        String username = usernameOf(buffered.body);
+        if (username != null) {
+            wait = endpoint.byUsername().tryAcquire(username);
+            if (wait > 0) {
+                reject(request, response, wait);
+                return;
+            }
+        }
+
+        filterChain.doFilter(buffered, response);
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        endpoints.values().forEach(endpoint -> {
+            bind(registry, endpoint.name(), "ip", endpoint.byIp());
+            bind(registry, endpoint.name(), "username", endpoint.byUsername());
+        });
+    }
+
+    private static void bind(MeterRegistry registry, String endpoint, String key, TokenBucketLimiter limiter) {
+        FunctionCounter.builder("auth.rate.limit.requests", limiter, TokenBucketLimiter::allowedCount)
+                .tags("endpoint", endpoint, "key", key, "result", "allowed")
+                .register(registry);
+        FunctionCounter.builder("auth.rate.limit.requests", limiter, TokenBucketLimiter::rejectedCount)
+                .tags("endpoint", endpoint, "key", key, "result", "rejected")
+                .register(registry);
+        FunctionCounter.builder("auth.rate.limit.evictions", limiter, TokenBucketLimiter::evictionCount)
+                .tags("endpoint", endpoint, "key", key)
+                .register(registry);
+        Gauge.builder("auth.rate.limit.buckets", limiter, TokenBucketLimiter::size)
+                .tags("endpoint", endpoint, "key", key)
+                .register(registry);
+    }
+
+    private Endpoint endpointOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return endpoints.get(path);
+    }
+
+    private String usernameOf(byte[] body) {
+        try {
+            JsonNode username = objectMapper.readTree(body).path("username");
+            return username.isTextual() ? username.asText().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException e) {
+            // Malformed bodies are left to the controller to reject
+            return null;
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        error(request, response, HttpStatus.TOO_MANY_REQUESTS, "Too many attempts, please retry later");
+    }
+
+    private void error(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String message)
+            throws IOException {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private record Endpoint(String name, TokenBucketLimiter byIp, TokenBucketLimiter byUsername) {
+    }
+
+    private static class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        BufferedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            // One byte past the cap tells an oversized body from one that exactly fits
+            this.body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
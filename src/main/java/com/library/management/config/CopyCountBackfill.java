@@ -0,0 +1,34 @@
+package com.library.management.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fixes copy counts on books from before multi-copy support. Schema update gives those rows the
+ * column default of one available copy, including books that are lent out, which would let them
+ * be lent a second time. A single-copy book is on the shelf exactly when {@code available} is set,
+ * and borrows and returns always change both columns together, so rows where they disagree can
+ * only be legacy rows; the update is safe to run on every start.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class CopyCountBackfill {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void backfill() {
+        int updated = jdbcTemplate.update("update books "
+                + "set available_copies = case when available then 1 else 0 end "
+                + "where total_copies = 1 and available_copies <> case when available then 1 else 0 end");
+        if (updated > 0) {
+            log.info("Backfilled available copies of {} single-copy books from their availability", updated);
+        }
+    }
+}
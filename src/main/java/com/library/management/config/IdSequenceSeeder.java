@@ -0,0 +1,55 @@
+package com.library.management.config;
+
+import com.library.management.entity.Book;
+import com.library.management.entity.Borrow;
+import com.library.management.entity.User;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves the table-backed id generators past ids that were assigned before the entity used them
+ * (rows from the old auto-increment columns). The pooled optimizer treats the stored value as the
+ * upper end of the next block, so it must be at least {@code max(id) + allocationSize}.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class IdSequenceSeeder {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void seedAll() {
+        seed("books", "books", Book.ID_ALLOCATION_SIZE);
+        seed("borrows", "borrows", Borrow.ID_ALLOCATION_SIZE);
+        seed("users", "users", User.ID_ALLOCATION_SIZE);
+    }
+
+    void seed(String sequenceName, String table, int allocationSize) {
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+        if (maxId == null || maxId == 0) {
+            return;
+        }
+
+        long floor = maxId + allocationSize;
+        List<Long> current = jdbcTemplate.queryForList(
+                "select next_val from id_sequences where sequence_name = ?", Long.class, sequenceName);
+        if (current.isEmpty()) {
+            jdbcTemplate.update("insert into id_sequences (sequence_name, next_val) values (?, ?)", sequenceName, floor);
+        } else if (current.get(0) < floor) {
+            // Conditional so a generator that moved on in the meantime is never pulled back
+            jdbcTemplate.update("update id_sequences set next_val = ? where sequence_name = ? and next_val < ?",
+                    floor, sequenceName, floor);
+        } else {
+            return;
+        }
+        log.info("Seeded id sequence '{}' to {} past existing ids", sequenceName, floor);
+    }
+}
@@ -1,6 +1,11 @@
 package com.library.management.config;
 
+import com.library.management.cache.VerifiedTokenCache;
+import com.library.management.entity.User;
+import com.library.management.service.CurrentUserContext;
+import com.library.management.service.JwtClaims;
 import com.library.management.service.JwtService;
+import com.library.management.service.TokenEpochService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,8 +14,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -22,7 +25,9 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenEpochService tokenEpochService;
+    private final CurrentUserContext currentUserContext;
 
     @Override
     protected void doFilterInternal(
@@ -32,7 +37,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String username;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -40,22 +44,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7);
-        username = jwtService.extractUsername(jwt);
-
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) { // SecurityContextHolder.getContext().getAuthentication()  this thing make sures that the token is not already authenticated
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+
+        if (SecurityContextHolder.getContext().getAuthentication() != null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // Tokens seen before were already signature- and expiry-checked, skip the crypto
+        User principal = verifiedTokenCache.get(jwt);
+        if (principal == null) {
+            JwtClaims claims = jwtService.parseToken(jwt);
+            principal = jwtService.extractPrincipal(claims);
+            if (principal != null) {
+                verifiedTokenCache.put(jwt, principal, claims.getExpiration());
             }
         }
 
+        // The principal comes straight from the token claims, only the revocation epoch is checked
+        if (principal != null && tokenEpochService.isCurrent(principal)) {
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    principal,
+                    null,
+                    principal.getAuthorities()
+            );
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+            currentUserContext.setPrincipal(principal);
+        }
+
         filterChain.doFilter(request, response);
     }
 }
@@ -1,15 +1,44 @@
 package com.library.management.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 @Configuration
 public class PasswordEncoderConfig {
 
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${app.security.bcrypt.strength:10}") int strength,
+            @Value("${app.security.hashing.threads:0}") int threads,
+            @Value("${app.security.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${app.security.hashing.timeout:5000}") long timeoutMillis,
+            @Value("${app.security.hashing.retry-after:2}") long retryAfterSeconds) {
+        int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(bcrypt(strength), workers, queueCapacity, timeoutMillis, retryAfterSeconds);
+    }
+
+    /**
+     * BCryptPasswordEncoder only asks for an upgrade when the stored cost is lower than the
+     * configured one; lowering the cost should re-hash on the next login as well.
+     */
+    static PasswordEncoder bcrypt(int strength) {
+        return new BCryptPasswordEncoder(strength) {
+            @Override
+            public boolean upgradeEncoding(String encodedPassword) {
+                if (encodedPassword == null) {
+                    return false;
+                }
+                Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+                return !matcher.find() || Integer.parseInt(matcher.group(1)) != strength;
+            }
+        };
     }
 }
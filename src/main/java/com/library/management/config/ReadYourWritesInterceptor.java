@@ -0,0 +1,69 @@
+package com.library.management.config;
+
+import com.library.management.cache.ExpiringCache;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Keeps a user's requests on the primary for a short window after they changed something, so a
+ * borrow or return is never followed by a history read from a replica that has not caught up yet.
+ */
+class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    private final ExpiringCache<String, Boolean> recentWriters;
+    private final long window;
+
+    ReadYourWritesInterceptor(long window, int maxUsers) {
+        this.recentWriters = new ExpiringCache<>(maxUsers);
+        this.window = window;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        String username = authenticatedUsername();
+        if (username == null) {
+            return true;
+        }
+        // Marked before the write runs: the client may send its next read before this request completes
+        if (isWrite(request.getMethod())) {
+            recentWriters.put(username, Boolean.TRUE, System.currentTimeMillis() + window);
+        } else if (recentWriters.get(username) != null) {
+            ReplicaRoutingDataSource.pinToPrimary();
+        }
+        return true;
+    }
+
+    // Async requests, such as streaming exports, leave the thread here and never reach afterCompletion on it
+    @Override
+    public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request,
+                                               @NonNull HttpServletResponse response,
+                                               @NonNull Object handler) {
+        ReplicaRoutingDataSource.unpin();
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, Exception ex) {
+        ReplicaRoutingDataSource.unpin();
+    }
+
+    private static boolean isWrite(String method) {
+        return !HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method) && !HttpMethod.OPTIONS.matches(method);
+    }
+
+    private static String authenticatedUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
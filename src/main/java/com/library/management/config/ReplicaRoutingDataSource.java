@@ -0,0 +1,61 @@
+package com.library.management.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Hands out replica connections inside read-only transactions and primary connections everywhere
+ * else. The transaction manager asks for its connection before marking the transaction read-only,
+ * so this only routes correctly behind a LazyConnectionDataSourceProxy, which defers the real
+ * checkout to the first statement. A thread can be pinned to the primary for reads that must see
+ * its own recent writes.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    public static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+
+    public static void pinToPrimary() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED.remove();
+    }
+
+    /**
+     * Runs a read that must not see a lagging replica, such as one whose result is tagged with an
+     * in-memory version, on the primary.
+     */
+    public static <T> T onPrimary(Supplier<T> read) {
+        Boolean previous = PINNED.get();
+        PINNED.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            PINNED.set(previous);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !isPinned()
+                ? Target.REPLICA
+                : Target.PRIMARY;
+    }
+}
@@ -0,0 +1,52 @@
+package com.library.management.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Regions of the Hibernate second-level cache, held in-process by Caffeine through JCache.
+ * Hibernate is given its own CacheManager (and closes it with the session factory), so every
+ * application context gets separate regions. Each region is bounded by entry count; the ttl only
+ * limits how long a row changed outside the application can be served stale.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String BOOKS_REGION = "books";
+    public static final String USERS_REGION = "users";
+    public static final String USERNAMES_REGION = "users-by-username";
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManager(
+            @Value("${app.l2cache.books.max-size:50000}") long maxBooks,
+            @Value("${app.l2cache.users.max-size:20000}") long maxUsers,
+            @Value("${app.l2cache.ttl:600000}") long ttl) {
+        return properties -> {
+            CaffeineCachingProvider provider = new CaffeineCachingProvider();
+            CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), provider.getDefaultClassLoader());
+            cacheManager.createCache(BOOKS_REGION, region(maxBooks, ttl));
+            cacheManager.createCache(USERS_REGION, region(maxUsers, ttl));
+            cacheManager.createCache(USERNAMES_REGION, region(maxUsers, ttl));
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, long ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate already caches disassembled state, copying it again on every read buys nothing
+        configuration.setStoreByValue(false);
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(ttl)));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
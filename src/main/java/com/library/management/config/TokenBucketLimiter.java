@@ -0,0 +1,131 @@
+package com.library.management.config;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-key token buckets holding up to {@code capacity} tokens, refilled at {@code capacity} tokens
+ * per {@code period}. Each bucket is a single {@link AtomicLong} with the time at which it will be
+ * full again, so taking a token is one compare-and-set and no lock is held on the request path.
+ * A bucket whose refill time has passed is indistinguishable from a new one, which is what makes
+ * idle buckets safe to drop once {@code maxKeys} is reached. If that is not enough, the buckets
+ * nearest to full are dropped until a tenth of {@code maxKeys} is free.
+ */
+public class TokenBucketLimiter {
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final ReentrantLock purgeLock = new ReentrantLock();
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final int maxKeys;
+    private final int lowWaterKeys;
+    private final LongSupplier clock;
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TokenBucketLimiter(int capacity, long periodMillis, int maxKeys) {
+        this(capacity, periodMillis, maxKeys, System::nanoTime);
+    }
+
+    TokenBucketLimiter(int capacity, long periodMillis, int maxKeys, LongSupplier clock) {
+        if (capacity <= 0 || periodMillis <= 0 || maxKeys <= 0) {
+            throw new IllegalArgumentException("capacity, period and maxKeys must be positive");
+        }
+        this.nanosPerToken = Math.max(1, TimeUnit.MILLISECONDS.toNanos(periodMillis) / capacity);
+        this.burstNanos = nanosPerToken * capacity;
+        this.maxKeys = maxKeys;
+        this.lowWaterKeys = maxKeys - Math.max(1, maxKeys / 10);
+        this.clock = clock;
+    }
+
+    /**
+     * Takes a token from the key's bucket.
+     *
+     * @return 0 if a token was taken, otherwise the number of nanoseconds until one is available
+     */
+    public long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                makeRoom(now);
+            }
+            AtomicLong created = new AtomicLong(now);
+            bucket = buckets.putIfAbsent(key, created);
+            if (bucket == null) {
+                bucket = created;
+            }
+        }
+
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, now) + nanosPerToken;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                rejected.increment();
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    public long allowedCount() {
+        return allowed.sum();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    private void makeRoom(long now) {
+        if (!purgeLock.tryLock()) {
+            return;
+        }
+        try {
+            // Another thread may have made room while this one waited for the lock
+            if (buckets.size() < maxKeys) {
+                return;
+            }
+            buckets.forEach((key, bucket) -> {
+                if (bucket.get() - now <= 0 && buckets.remove(key, bucket)) {
+                    evictions.increment();
+                }
+            });
+            // Everything left is in active use. Going down to the low-water mark spreads this scan over
+            // many new keys, and dropping the buckets closest to full keeps throttled keys throttled
+            int excess = buckets.size() - lowWaterKeys;
+            if (excess > 0) {
+                long[] remaining = buckets.values().stream().mapToLong(bucket -> bucket.get() - now).sorted().toArray();
+                long cutoff = remaining[Math.min(excess, remaining.length) - 1];
+                Iterator<AtomicLong> values = buckets.values().iterator();
+                while (excess > 0 && values.hasNext()) {
+                    if (values.next().get() - now <= cutoff) {
+                        values.remove();
+                        evictions.increment();
+                        excess--;
+                    }
+                }
+            }
+        } finally {
+            purgeLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.library.management.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Spring Boot silently ignores {@code spring.threads.virtual.enabled} before Java 21, which would
+ * leave the virtual-threads profile running with its smaller connection pool on platform threads.
+ */
+@Component
+@Profile("virtual-threads")
+public class VirtualThreadsGuard {
+
+    @PostConstruct
+    void checkRuntime() {
+        int feature = Runtime.version().feature();
+        if (feature < 21) {
+            throw new IllegalStateException(
+                    "The virtual-threads profile needs Java 21 or newer, but this runtime is Java " + feature);
+        }
+    }
+}
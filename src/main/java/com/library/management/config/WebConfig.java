@@ -0,0 +1,33 @@
+package com.library.management.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.convert.converter.ConverterFactory;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Locale;
+
+/**
+ * Request parameters bound to enums, such as {@code sort} and {@code format}, accept any case, so
+ * {@code ?sort=title} works as well as {@code ?sort=TITLE}.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverterFactory(new CaseInsensitiveEnumConverterFactory());
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    static class CaseInsensitiveEnumConverterFactory implements ConverterFactory<String, Enum> {
+
+        @Override
+        @NonNull
+        public <T extends Enum> Converter<String, T> getConverter(@NonNull Class<T> targetType) {
+            return source -> source.isBlank() ? null : (T) Enum.valueOf(targetType, source.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+}
@@ -1,17 +1,30 @@
 package com.library.management.controller;
 
 import com.library.management.dto.BookDto;
+import com.library.management.dto.BookSort;
 import com.library.management.dto.BorrowDto;
+import com.library.management.dto.CursorPage;
+import com.library.management.dto.ExportFormat;
+import com.library.management.dto.ImportResult;
+import com.library.management.dto.RoleUpdateRequest;
+import com.library.management.dto.UserDto;
 import com.library.management.service.BookService;
 import com.library.management.service.BorrowService;
+import com.library.management.service.ExportService;
+import com.library.management.service.ImportService;
+import com.library.management.service.UserService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -24,12 +37,22 @@ public class AdminController {
 
     private final BookService bookService;
     private final BorrowService borrowService;
+    private final UserService userService;
+    private final ExportService exportService;
+    private final ImportService importService;
 
     @PostMapping("/books")
     public ResponseEntity<BookDto> addBook(@Valid @RequestBody BookDto bookDto) {
         return new ResponseEntity<>(bookService.createBook(bookDto), HttpStatus.CREATED);
     }
 
+    @PostMapping("/import/books")
+    public ResponseEntity<ImportResult> importBooks(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            InputStream body) throws IOException {
+        return ResponseEntity.ok(importService.importBooks(format, body));
+    }
+
     @PutMapping("/books/{id}")
     public ResponseEntity<BookDto> updateBook(@PathVariable Long id, @Valid @RequestBody BookDto bookDto) {
         return ResponseEntity.ok(bookService.updateBook(id, bookDto));
@@ -47,8 +70,11 @@ public class AdminController {
     }
 
     @GetMapping("/books")
-    public ResponseEntity<List<BookDto>> getAllBooks() {
-        return ResponseEntity.ok(bookService.getAllBooks());
+    public ResponseEntity<CursorPage<BookDto>> getAllBooks(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "ID") BookSort sort) {
+        return ResponseEntity.ok(bookService.getAllBooks(cursor, size, sort));
     }
 
     @GetMapping("/books/{id}")
@@ -60,4 +86,26 @@ public class AdminController {
     public ResponseEntity<List<BorrowDto>> getBorrowedBooks() {
         return ResponseEntity.ok(borrowService.getAllBorrowedBooks());
     }
+
+    @PatchMapping("/users/{id}/role")
+    public ResponseEntity<UserDto> updateUserRole(@PathVariable Long id, @Valid @RequestBody RoleUpdateRequest request) {
+        return ResponseEntity.ok(userService.updateRole(id, request.getRole()));
+    }
+
+    @GetMapping("/export/books")
+    public ResponseEntity<StreamingResponseBody> exportBooks(@RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        return export("books", format, out -> exportService.exportBooks(format, out));
+    }
+
+    @GetMapping("/export/borrows")
+    public ResponseEntity<StreamingResponseBody> exportBorrows(@RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        return export("borrows", format, out -> exportService.exportBorrows(format, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(String name, ExportFormat format, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + "." + format.getExtension() + "\"")
+                .body(body);
+    }
 }
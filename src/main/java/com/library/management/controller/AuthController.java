@@ -49,7 +49,7 @@ public class AuthController {
 
     @GetMapping("/me")
     public ResponseEntity<UserDto> getCurrentUser() {
-        UserDto userDto = userService.getUserByUsername(authService.getCurrentUser().getUsername());
+        UserDto userDto = userService.mapToDto(authService.getCurrentUser());
         return ResponseEntity.ok(userDto);
     }
 }
@@ -1,11 +1,22 @@
 package com.library.management.controller;
 
+import com.library.management.dto.BatchBorrowRequest;
+import com.library.management.dto.BatchResult;
 import com.library.management.dto.BookDto;
+import com.library.management.dto.BookSort;
 import com.library.management.dto.BorrowDto;
+import com.library.management.dto.CursorPage;
 import com.library.management.service.BookService;
 import com.library.management.service.BorrowService;
+import com.library.management.service.CatalogSnapshot;
+import com.library.management.service.EntityTags;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,16 +28,49 @@ import java.util.List;
 @Tag(name = "Book-API", description = "Book operations")
 public class BookController {
 
+    // Lets clients keep responses but revalidate each poll with If-None-Match; Spring Security would
+    // otherwise send no-store
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final BookService bookService;
     private final BorrowService borrowService;
+    private final CatalogSnapshot catalogSnapshot;
+    private final EntityTags entityTags;
 
     @GetMapping
-    public ResponseEntity<List<BookDto>> browseBooks(
-            @RequestParam(required = false) String query) {
+    public ResponseEntity<?> browseBooks(
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "ID") BookSort sort,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Taken before any read, so a change committed meanwhile makes the next poll refetch
+        String etag = entityTags.catalog();
+        if (EntityTags.matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
         if (query != null && !query.isEmpty()) {
-            return ResponseEntity.ok(bookService.searchBooks(query));
+            List<BookDto> results = bookService.searchBooks(query);
+            return ok(etag).body(CursorPage.<BookDto>builder()
+                    .items(results)
+                    .size(results.size())
+                    .build());
+        }
+        if ((cursor == null || cursor.isEmpty()) && size == null && sort == BookSort.ID) {
+            CatalogSnapshot.Snapshot snapshot = catalogSnapshot.current();
+            if (snapshot != null) {
+                return snapshotResponse(snapshot, etag, acceptEncoding);
+            }
         }
-        return ResponseEntity.ok(bookService.getAvailableBooks());
+        return ok(etag).body(bookService.getAvailableBooks(cursor, size, sort));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<String>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(bookService.suggest(prefix, limit));
     }
 
     @PostMapping("/{id}/borrow")
@@ -39,8 +83,46 @@ public class BookController {
         return ResponseEntity.ok(borrowService.returnBook(id));
     }
 
+    @PostMapping("/borrow")
+    public ResponseEntity<BatchResult> borrowBooks(@Valid @RequestBody BatchBorrowRequest request) {
+        return ResponseEntity.ok(borrowService.borrowBooks(request.getBookIds()));
+    }
+
+    @PostMapping("/return")
+    public ResponseEntity<BatchResult> returnBooks(@Valid @RequestBody BatchBorrowRequest request) {
+        return ResponseEntity.ok(borrowService.returnBooks(request.getBookIds()));
+    }
+
     @GetMapping("/history")
-    public ResponseEntity<List<BorrowDto>> getBorrowHistory() {
-        return ResponseEntity.ok(borrowService.getUserBorrowHistory());
+    public ResponseEntity<List<BorrowDto>> getBorrowHistory(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = entityTags.currentUserHistory();
+        if (EntityTags.matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+        return ok(etag).body(borrowService.getUserBorrowHistory());
+    }
+
+    private static ResponseEntity<byte[]> snapshotResponse(CatalogSnapshot.Snapshot snapshot, String etag,
+                                                           String acceptEncoding) {
+        if (snapshot.gzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return ok(EntityTags.gzipVariant(etag))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(snapshot.gzip());
+        }
+        return ok(etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .body(snapshot.json());
+    }
+
+    private static ResponseEntity.BodyBuilder ok(String etag) {
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE);
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
     }
 }
@@ -0,0 +1,20 @@
+package com.library.management.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchBorrowRequest {
+
+    @NotEmpty(message = "At least one book id is required")
+    private List<@NotNull Long> bookIds;
+}
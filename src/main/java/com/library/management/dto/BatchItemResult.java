@@ -0,0 +1,31 @@
+package com.library.management.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+    private Long bookId;
+    private boolean success;
+
+    // Set on success
+    private BorrowDto borrow;
+
+    // Set on failure
+    private String error;
+
+    public static BatchItemResult succeeded(Long bookId, BorrowDto borrow) {
+        return BatchItemResult.builder().bookId(bookId).success(true).borrow(borrow).build();
+    }
+
+    public static BatchItemResult failed(Long bookId, String error) {
+        return BatchItemResult.builder().bookId(bookId).success(false).error(error).build();
+    }
+}
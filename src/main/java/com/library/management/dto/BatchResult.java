@@ -0,0 +1,23 @@
+package com.library.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchResult {
+    private List<BatchItemResult> items;
+    private int succeeded;
+    private int failed;
+
+    public static BatchResult of(List<BatchItemResult> items) {
+        int succeeded = (int) items.stream().filter(BatchItemResult::isSuccess).count();
+        return new BatchResult(items, succeeded, items.size() - succeeded);
+    }
+}
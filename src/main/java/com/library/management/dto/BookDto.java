@@ -1,7 +1,8 @@
 package com.library.management.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -20,6 +21,13 @@ public class BookDto {
     @NotBlank(message = "Author is required")
     private String author;
 
-    @NotNull(message = "Availability status is required")
+    // Defaults to a single copy when omitted on create and leaves the count untouched on update
+    @Min(value = 1, message = "A book needs at least one copy")
+    private Integer totalCopies;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer availableCopies;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private Boolean available;
 }
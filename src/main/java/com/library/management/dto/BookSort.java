@@ -0,0 +1,10 @@
+package com.library.management.dto;
+
+/**
+ * Sort orders supported by the paginated catalog endpoints. Each one is backed by an index that
+ * ends in {@code id}, so pages can seek past the last row instead of using offsets.
+ */
+public enum BookSort {
+    ID,
+    TITLE
+}
@@ -0,0 +1,22 @@
+package com.library.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportResult {
+    private long imported;
+    private long rejected;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+
+    // The first few problems, each prefixed with its 1-based data row number
+    private List<String> errors;
+}
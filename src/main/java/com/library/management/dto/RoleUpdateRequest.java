@@ -0,0 +1,18 @@
+package com.library.management.dto;
+
+import com.library.management.entity.User;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoleUpdateRequest {
+
+    @NotNull(message = "Role is required")
+    private User.Role role;
+}
@@ -1,10 +1,16 @@
 package com.library.management.entity;
 
+import com.library.management.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.List;
 
@@ -13,11 +19,22 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "books")
+@Table(name = "books", indexes = {
+        @Index(name = "idx_books_title_id", columnList = "title, id"),
+        @Index(name = "idx_books_available_id", columnList = "available, id"),
+        @Index(name = "idx_books_available_title_id", columnList = "available, title, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.BOOKS_REGION)
 public class Book {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Table-backed ids handed out in blocks, so Hibernate can batch inserts (IDENTITY disables batching)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "book_ids")
+    @TableGenerator(name = "book_ids", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "books", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -26,9 +43,29 @@ public class Book {
     @Column(nullable = false)
     private String author;
 
-    @Column(nullable = false)
+    // Copy counts are only ever changed through the atomic updates in BookRepository, never by entity saves,
+    // so a concurrent borrow or return cannot be overwritten by a stale copy of the row
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("1")
+    @Builder.Default
+    private Integer totalCopies = 1;
+
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("1")
+    @Builder.Default
+    private Integer availableCopies = 1;
+
+    // Denormalized "at least one copy is on the shelf", kept so the availability indexes serve keyset pagination
+    @Column(nullable = false, updatable = false)
     private Boolean available;
 
     @OneToMany(mappedBy = "book", cascade = CascadeType.ALL)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<Borrow> borrows;
+
+    @PrePersist
+    void syncAvailability() {
+        available = availableCopies > 0;
+    }
 }
@@ -0,0 +1,53 @@
+package com.library.management.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Borrow, return and catalog change recorded in the same transaction as the change itself, for
+ * {@link com.library.management.outbox.OutboxRelay} to publish. Identity ids follow insert order,
+ * which the relay hands on to the sink.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_created_at", columnList = "created_at")
+})
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private Type type;
+
+    @Column(name = "book_id", nullable = false)
+    private Long bookId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "borrow_id")
+    private Long borrowId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public enum Type {
+        BOOK_BORROWED,
+        BOOK_RETURNED,
+        BOOK_CREATED,
+        BOOK_UPDATED,
+        BOOK_DELETED
+    }
+}
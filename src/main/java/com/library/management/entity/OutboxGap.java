@@ -0,0 +1,32 @@
+package com.library.management.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Outbox event id that the checkpoint has moved past without seeing it: either its transaction
+ * had not committed yet, or it rolled back. The relay looks for these ids again on every pass
+ * until one shows up or the gap is older than {@code app.outbox.gap-timeout}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "outbox_gaps", indexes = {
+        @Index(name = "idx_outbox_gaps_seen_at", columnList = "seen_at")
+})
+public class OutboxGap {
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "seen_at", nullable = false)
+    private Instant seenAt;
+}
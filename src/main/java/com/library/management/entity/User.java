@@ -1,10 +1,18 @@
 package com.library.management.entity;
 
+import com.library.management.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -18,17 +26,26 @@ import java.util.List;
 @AllArgsConstructor
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.USERS_REGION)
+@NaturalIdCache(region = SecondLevelCacheConfig.USERNAMES_REGION)
 public class User implements UserDetails {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     public enum Role {
         USER,
         ADMIN
     }
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "user_ids")
+    @TableGenerator(name = "user_ids", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "users", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
+    // Usernames never change, so lookups by username resolve through the natural-id cache
+    @NaturalId
     @Column(unique = true, nullable = false)
     private String username;
 
@@ -41,7 +58,15 @@ public class User implements UserDetails {
     @Enumerated(EnumType.STRING)
     private Role role;
 
+    // Bumped on role change or password reset; tokens carrying an older epoch are rejected
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer tokenEpoch = 0;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<Borrow> borrows;
 
     @Override
@@ -0,0 +1,51 @@
+package com.library.management.outbox;
+
+import com.library.management.entity.OutboxEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps every published batch in memory, for tests and local runs without a consumer.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.sink", havingValue = "memory")
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final List<List<OutboxEvent>> batches = new ArrayList<>();
+    private int failures;
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> batch) throws IOException {
+        if (failures > 0) {
+            failures--;
+            throw new IOException("Simulated sink failure");
+        }
+        batches.add(List.copyOf(batch));
+    }
+
+    public synchronized List<List<OutboxEvent>> batches() {
+        return List.copyOf(batches);
+    }
+
+    public synchronized List<OutboxEvent> events() {
+        List<OutboxEvent> events = new ArrayList<>();
+        batches.forEach(events::addAll);
+        return events;
+    }
+
+    /**
+     * Makes the next {@code count} publishes fail, to exercise redelivery.
+     */
+    public synchronized void failNext(int count) {
+        failures = count;
+    }
+
+    public synchronized void clear() {
+        batches.clear();
+        failures = 0;
+    }
+}
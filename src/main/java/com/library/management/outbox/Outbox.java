@@ -0,0 +1,45 @@
+package com.library.management.outbox;
+
+import com.library.management.entity.OutboxEvent;
+import com.library.management.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Records activity for downstream consumers. Events are only written as part of the caller's
+ * transaction, so they exist exactly when the change they describe has committed. Callers run with
+ * {@link #WRITER_TIMEOUT}: the relay gives up on an event id that stays invisible for longer than
+ * {@code app.outbox.gap-timeout}, so a writing transaction must not outlast it.
+ */
+@Component
+@RequiredArgsConstructor
+public class Outbox {
+
+    public static final String WRITER_TIMEOUT = "${app.outbox.transaction-timeout:30}";
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bookChanged(OutboxEvent.Type type, Long bookId) {
+        append(type, bookId, null, null);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void borrowChanged(OutboxEvent.Type type, Long bookId, Long userId, Long borrowId) {
+        append(type, bookId, userId, borrowId);
+    }
+
+    private void append(OutboxEvent.Type type, Long bookId, Long userId, Long borrowId) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .type(type)
+                .bookId(bookId)
+                .userId(userId)
+                .borrowId(borrowId)
+                .createdAt(Instant.now())
+                .build());
+    }
+}
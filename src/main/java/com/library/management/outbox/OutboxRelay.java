@@ -0,0 +1,242 @@
+package com.library.management.outbox;
+
+import com.library.management.entity.OutboxCheckpoint;
+import com.library.management.entity.OutboxEvent;
+import com.library.management.entity.OutboxGap;
+import com.library.management.repository.OutboxCheckpointRepository;
+import com.library.management.repository.OutboxEventRepository;
+import com.library.management.repository.OutboxGapRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes outbox events to the {@link OutboxSink} in id order, in batches of at most
+ * {@code app.outbox.batch-size}. Each batch is read, published and checkpointed in one transaction
+ * that holds the checkpoint row lock, so a batch is only acknowledged once the sink has taken it
+ * and concurrent relays cannot interleave.
+ * <p>
+ * Identity ids are taken at insert but become visible at commit, so the checkpoint can move past
+ * an id whose transaction is still running. Every id skipped that way is kept as an
+ * {@link OutboxGap} and all open gaps are looked up again on each pass; if its event shows up it is published then,
+ * after events with higher ids. Gaps older than {@code app.outbox.gap-timeout} ms are dropped as
+ * rolled back, which is why outbox writers run with a shorter transaction timeout. Events younger
+ * than {@code app.outbox.settle} ms wait for the next pass, so most in-flight writers commit before
+ * the checkpoint reaches them and leave no gap at all.
+ */
+@Slf4j
+@Component
+public class OutboxRelay implements MeterBinder {
+
+    static final String CHECKPOINT = "default";
+
+    private record Pass(int published, int late) {
+        static final Pass EMPTY = new Pass(0, 0);
+    }
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxCheckpointRepository outboxCheckpointRepository;
+    private final OutboxGapRepository outboxGapRepository;
+    private final OutboxSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long interval;
+    private final int batchSize;
+    private final long settle;
+    private final long gapTimeout;
+    private final long retention;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "outbox-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Counter relayed;
+    private volatile Counter late;
+    private volatile Counter failures;
+    private volatile Timer batches;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxCheckpointRepository outboxCheckpointRepository,
+                       OutboxGapRepository outboxGapRepository,
+                       OutboxSink sink,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${app.outbox.relay.enabled:true}") boolean enabled,
+                       @Value("${app.outbox.relay.interval:1000}") long interval,
+                       @Value("${app.outbox.batch-size:500}") int batchSize,
+                       @Value("${app.outbox.settle:2000}") long settle,
+                       @Value("${app.outbox.gap-timeout:60000}") long gapTimeout,
+                       @Value("${app.outbox.retention:86400000}") long retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxCheckpointRepository = outboxCheckpointRepository;
+        this.outboxGapRepository = outboxGapRepository;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.interval = interval;
+        this.batchSize = batchSize;
+        this.settle = settle;
+        this.gapTimeout = gapTimeout;
+        this.retention = retention;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            executor.scheduleWithFixedDelay(this::relayQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Publishes every settled event, batch by batch, and returns how many were published. A failed
+     * batch stops the pass; it is retried from the same checkpoint on the next one.
+     */
+    public int relay() {
+        int total = 0;
+        int published;
+        do {
+            published = relayBatch();
+            total += published;
+        } while (published >= batchSize);
+        return total;
+    }
+
+    private void relayQuietly() {
+        try {
+            relay();
+        } catch (RuntimeException e) {
+            Counter counter = failures;
+            if (counter != null) {
+                counter.increment();
+            }
+            log.warn("Outbox relay failed, retrying in {} ms", interval, e);
+        }
+    }
+
+    private int relayBatch() {
+        long start = System.nanoTime();
+        Pass pass = transactionTemplate.execute(status -> {
+            OutboxCheckpoint checkpoint = outboxCheckpointRepository.findForUpdate(CHECKPOINT)
+                    .orElseGet(() -> outboxCheckpointRepository.saveAndFlush(OutboxCheckpoint.builder()
+                            .name(CHECKPOINT)
+                            .lastEventId(0L)
+                            .updatedAt(Instant.now())
+                            .build()));
+
+            Instant now = Instant.now();
+            outboxGapRepository.deleteExpired(now.minusMillis(gapTimeout));
+            List<OutboxEvent> lateEvents = findLateEvents();
+            List<OutboxEvent> batch = outboxEventRepository.findBatch(checkpoint.getLastEventId(),
+                    now.minusMillis(settle), PageRequest.ofSize(batchSize));
+            if (lateEvents.isEmpty() && batch.isEmpty()) {
+                return Pass.EMPTY;
+            }
+
+            List<OutboxEvent> events = new ArrayList<>(lateEvents.size() + batch.size());
+            events.addAll(lateEvents);
+            events.addAll(batch);
+            try {
+                sink.publish(events);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            if (!lateEvents.isEmpty()) {
+                outboxGapRepository.deleteAllByIdInBatch(lateEvents.stream().map(OutboxEvent::getId).toList());
+            }
+            if (!batch.isEmpty()) {
+                outboxGapRepository.saveAll(skippedIds(checkpoint.getLastEventId(), batch, now));
+                checkpoint.setLastEventId(batch.get(batch.size() - 1).getId());
+                checkpoint.setUpdatedAt(now);
+            }
+            outboxEventRepository.deletePublished(checkpoint.getLastEventId(), now.minusMillis(retention));
+            return new Pass(events.size(), lateEvents.size());
+        });
+
+        int count = pass == null ? 0 : pass.published();
+        if (count > 0) {
+            Counter counter = relayed;
+            Counter lateCounter = late;
+            Timer timer = batches;
+            if (counter != null && lateCounter != null && timer != null) {
+                counter.increment(count);
+                lateCounter.increment(pass.late());
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Looks up the event of every open gap, a page at a time, so no gap can expire without having
+     * been checked on every pass before it did.
+     */
+    private List<OutboxEvent> findLateEvents() {
+        List<OutboxEvent> lateEvents = new ArrayList<>();
+        long afterEventId = 0;
+        List<OutboxGap> gaps;
+        do {
+            gaps = outboxGapRepository.findPageByEventId(afterEventId, PageRequest.ofSize(batchSize));
+            if (!gaps.isEmpty()) {
+                lateEvents.addAll(outboxEventRepository.findByIdInOrderById(
+                        gaps.stream().map(OutboxGap::getEventId).toList()));
+                afterEventId = gaps.get(gaps.size() - 1).getEventId();
+            }
+        } while (gaps.size() == batchSize);
+        return lateEvents;
+    }
+
+    /**
+     * Ids between the checkpoint and the batch that were not in it. Only the last batch-size ids
+     * below each event are kept: a wider hole is an identity jump, such as after a database
+     * restart, not transactions in flight, of which there are at most a pool's worth.
+     */
+    private List<OutboxGap> skippedIds(long afterId, List<OutboxEvent> batch, Instant now) {
+        List<OutboxGap> gaps = new ArrayList<>();
+        long expected = afterId + 1;
+        for (OutboxEvent event : batch) {
+            for (long id = Math.max(expected, event.getId() - batchSize); id < event.getId(); id++) {
+                gaps.add(OutboxGap.builder().eventId(id).seenAt(now).build());
+            }
+            expected = event.getId() + 1;
+        }
+        return gaps;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        relayed = Counter.builder("outbox.relayed").description("Outbox events handed to the sink").register(registry);
+        late = Counter.builder("outbox.relayed.late")
+                .description("Outbox events published after higher ids because their transaction committed late")
+                .register(registry);
+        failures = Counter.builder("outbox.relay.failures").description("Relay passes that failed and will be retried")
+                .register(registry);
+        batches = Timer.builder("outbox.relay.batch").register(registry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
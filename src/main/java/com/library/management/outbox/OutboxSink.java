@@ -0,0 +1,17 @@
+package com.library.management.outbox;
+
+import com.library.management.entity.OutboxEvent;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Where {@link OutboxRelay} delivers events, chosen with {@code app.outbox.sink}. Batches arrive in
+ * event id order, one at a time. Returning normally acknowledges the whole batch; after an
+ * exception, or a crash before the checkpoint is saved, the same events are delivered again, so
+ * consumers should drop ids they have already seen.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxEvent> batch) throws IOException;
+}
@@ -1,13 +1,47 @@
 package com.library.management.repository;
 
 import com.library.management.entity.Book;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, BookRepositoryCustom {
+    // available is derived from availableCopies, so this returns books with at least one copy on the shelf
     List<Book> findByAvailable(Boolean available);
     List<Book> findByTitleContainingOrAuthorContaining(String title, String author);
+
+    @Query("select b.availableCopies from Book b where b.id = :id")
+    Optional<Integer> findAvailableCopiesById(@Param("id") Long id);
+
+    // markBorrowed and markReturned are plain JDBC updates in BookRepositoryImpl
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Book b "
+            + "set b.available = (case when b.availableCopies + :totalCopies - b.totalCopies > 0 then true else false end), "
+            + "b.availableCopies = b.availableCopies + :totalCopies - b.totalCopies, b.totalCopies = :totalCopies "
+            + "where b.id = :id and b.totalCopies - b.availableCopies <= :totalCopies")
+    int resizeCopies(@Param("id") Long id, @Param("totalCopies") int totalCopies);
+
+    // Keyset pagination: the Pageable only carries the limit, the position comes from the last row seen
+
+    @Query("select b from Book b where b.id > :afterId order by b.id")
+    List<Book> findPageById(@Param("afterId") Long afterId, Pageable limit);
+
+    @Query("select b from Book b where b.title > :afterTitle or (b.title = :afterTitle and b.id > :afterId) "
+            + "order by b.title, b.id")
+    List<Book> findPageByTitle(@Param("afterTitle") String afterTitle, @Param("afterId") Long afterId, Pageable limit);
+
+    @Query("select b from Book b where b.available = true and b.id > :afterId order by b.id")
+    List<Book> findAvailablePageById(@Param("afterId") Long afterId, Pageable limit);
+
+    @Query("select b from Book b where b.available = true "
+            + "and (b.title > :afterTitle or (b.title = :afterTitle and b.id > :afterId)) order by b.title, b.id")
+    List<Book> findAvailablePageByTitle(@Param("afterTitle") String afterTitle, @Param("afterId") Long afterId, Pageable limit);
 }
@@ -0,0 +1,28 @@
+package com.library.management.repository;
+
+import java.util.List;
+
+public interface BookRepositoryCustom {
+
+    /**
+     * Takes one copy off the shelf if any is left; returns the number of rows updated, 0 when the
+     * book is unknown or has no copy available.
+     */
+    int markBorrowed(Long id);
+
+    /**
+     * Puts one copy back unless all copies are already on the shelf.
+     */
+    int markReturned(Long id);
+
+    /**
+     * Batched form of {@link #markBorrowed(Long)}: one JDBC batch, one update count
+     * per id in the same order.
+     */
+    int[] markBorrowedAll(List<Long> ids);
+
+    /**
+     * Batched form of {@link #markReturned(Long)}.
+     */
+    int[] markReturnedAll(List<Long> ids);
+}
@@ -0,0 +1,76 @@
+package com.library.management.repository;
+
+import com.library.management.entity.Book;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class BookRepositoryImpl implements BookRepositoryCustom {
+
+    // Conditional updates: the affected-row count tells whether this caller won the race.
+    // MySQL evaluates assignments left to right, so the available flag is always assigned first
+    // to see the same (old) copy counts as it does on databases that follow the SQL standard.
+    private static final String MARK_BORROWED = "update books "
+            + "set available = case when available_copies > 1 then true else false end, "
+            + "available_copies = available_copies - 1 where id = ? and available_copies > 0";
+    private static final String MARK_RETURNED = "update books set available = true, "
+            + "available_copies = available_copies + 1 where id = ? and available_copies < total_copies";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public int markBorrowed(Long id) {
+        lockCachedBooks(List.of(id));
+        return jdbcTemplate.update(MARK_BORROWED, id);
+    }
+
+    @Override
+    public int markReturned(Long id) {
+        lockCachedBooks(List.of(id));
+        return jdbcTemplate.update(MARK_RETURNED, id);
+    }
+
+    @Override
+    public int[] markBorrowedAll(List<Long> ids) {
+        return update(MARK_BORROWED, ids);
+    }
+
+    @Override
+    public int[] markReturnedAll(List<Long> ids) {
+        return update(MARK_RETURNED, ids);
+    }
+
+    private int[] update(String sql, List<Long> ids) {
+        lockCachedBooks(ids);
+        int[][] counts = jdbcTemplate.batchUpdate(sql, ids, ids.size(), (statement, id) -> statement.setLong(1, id));
+        return counts.length == 0 ? new int[0] : counts[0];
+    }
+
+    /**
+     * Copy counts change behind Hibernate's back, and a bulk JPQL update would evict every cached
+     * book. Instead only the touched rows are soft-locked in the second-level cache, as Hibernate
+     * does for its own updates: nothing can cache them until the transaction completes, and loads
+     * that read the old row before the commit cannot put it back afterwards.
+     */
+    private void lockCachedBooks(List<Long> ids) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(Book.class);
+        EntityDataAccess cache = persister.getCacheAccessStrategy();
+        if (cache == null) {
+            return;
+        }
+        for (Long id : ids) {
+            Object key = cache.generateCacheKey(id, persister, session.getFactory(), session.getTenantIdentifier());
+            SoftLock lock = cache.lockItem(session, key, null);
+            session.getActionQueue().registerProcess((success, completed) -> cache.unlockItem(completed, key, lock));
+        }
+    }
+}
@@ -1,17 +1,35 @@
 package com.library.management.repository;
 
+import com.library.management.dto.BorrowDto;
 import com.library.management.entity.Book;
 import com.library.management.entity.Borrow;
 import com.library.management.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BorrowRepository extends JpaRepository<Borrow, Long> {
-    List<Borrow> findByUserOrderByBorrowedAtDesc(User user);
-    List<Borrow> findByReturnedAtIsNull();
     Optional<Borrow> findByBookAndUserAndReturnedAtIsNull(Book book, User user);
+
+    @Query("select b.book.id from Borrow b where b.user.id = :userId and b.openBookId in :bookIds")
+    List<Long> findOpenBookIdsByUserId(@Param("userId") Long userId, @Param("bookIds") Collection<Long> bookIds);
+
+    @Query("select b from Borrow b join fetch b.book where b.user.id = :userId and b.openBookId in :bookIds")
+    List<Borrow> findOpenByUserIdAndBookIds(@Param("userId") Long userId, @Param("bookIds") Collection<Long> bookIds);
+
+    // Listings are projected straight into BorrowDto so one statement serves the whole list
+
+    @Query("select new com.library.management.dto.BorrowDto(b.id, u.id, u.username, bk.id, bk.title, b.borrowedAt, b.returnedAt) "
+            + "from Borrow b join b.user u join b.book bk where b.returnedAt is null order by b.borrowedAt desc")
+    List<BorrowDto> findOpenBorrows();
+
+    @Query("select new com.library.management.dto.BorrowDto(b.id, u.id, u.username, bk.id, bk.title, b.borrowedAt, b.returnedAt) "
+            + "from Borrow b join b.user u join b.book bk where u.id = :userId order by b.borrowedAt desc")
+    List<BorrowDto> findHistoryByUserId(@Param("userId") Long userId);
 }
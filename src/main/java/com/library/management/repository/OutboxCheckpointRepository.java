@@ -0,0 +1,19 @@
+package com.library.management.repository;
+
+import com.library.management.entity.OutboxCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface OutboxCheckpointRepository extends JpaRepository<OutboxCheckpoint, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from OutboxCheckpoint c where c.name = :name")
+    Optional<OutboxCheckpoint> findForUpdate(@Param("name") String name);
+}
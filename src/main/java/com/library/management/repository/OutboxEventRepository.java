@@ -0,0 +1,28 @@
+package com.library.management.repository;
+
+import com.library.management.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query("select e from OutboxEvent e where e.id > :afterId and e.createdAt <= :settledBefore order by e.id")
+    List<OutboxEvent> findBatch(@Param("afterId") Long afterId,
+                                @Param("settledBefore") Instant settledBefore,
+                                Pageable limit);
+
+    List<OutboxEvent> findByIdInOrderById(Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.id <= :lastEventId and e.createdAt < :createdBefore")
+    int deletePublished(@Param("lastEventId") Long lastEventId, @Param("createdBefore") Instant createdBefore);
+}
@@ -0,0 +1,23 @@
+package com.library.management.repository;
+
+import com.library.management.entity.OutboxGap;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface OutboxGapRepository extends JpaRepository<OutboxGap, Long> {
+
+    @Query("select g from OutboxGap g where g.eventId > :afterEventId order by g.eventId")
+    List<OutboxGap> findPageByEventId(@Param("afterEventId") Long afterEventId, Pageable limit);
+
+    @Modifying
+    @Query("delete from OutboxGap g where g.seenAt < :seenBefore")
+    int deleteExpired(@Param("seenBefore") Instant seenBefore);
+}
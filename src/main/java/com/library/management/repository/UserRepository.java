@@ -2,13 +2,29 @@ package com.library.management.repository;
 
 import com.library.management.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByUsername(String username);
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    // On the primary, a lagging replica could still accept tokens that were just revoked
+    @Transactional
+    @Query("select u.tokenEpoch from User u where u.id = :id")
+    Optional<Integer> findTokenEpochById(@Param("id") Long id);
+
+    @Modifying
+    @Query("update User u set u.tokenEpoch = u.tokenEpoch + 1 where u.id = :id")
+    int incrementTokenEpoch(@Param("id") Long id);
+
+    @Modifying
+    @Query("update User u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
 }
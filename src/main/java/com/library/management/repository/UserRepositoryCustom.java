@@ -0,0 +1,14 @@
+package com.library.management.repository;
+
+import com.library.management.entity.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Loads by the username natural id, so repeated lookups are answered from the second-level
+     * cache instead of a query.
+     */
+    Optional<User> findByUsername(String username);
+}
@@ -0,0 +1,23 @@
+package com.library.management.repository;
+
+import com.library.management.entity.User;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@RequiredArgsConstructor
+class UserRepositoryImpl implements UserRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    // Fragment methods get no transaction of their own, unlike the derived queries they replace. Not
+    // read-only, which would send it to a replica that may not have a user who just signed up
+    @Override
+    @Transactional
+    public Optional<User> findByUsername(String username) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(User.class).loadOptional(username);
+    }
+}
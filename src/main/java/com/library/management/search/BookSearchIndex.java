@@ -0,0 +1,370 @@
+package com.library.management.search;
+
+import com.library.management.cache.AfterCommit;
+import com.library.management.entity.Book;
+import com.library.management.repository.BookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over book titles and authors. Each book gets a dense int ordinal and
+ * every trigram maps to a sorted int array of ordinals, so a query only touches the books that
+ * contain all of its trigrams instead of scanning the table with {@code LIKE '%q%'}. Queries of one
+ * or two characters have no trigram; they match the start of a word through a separate posting
+ * list per word prefix, and only the first {@value #SHORT_QUERY_CANDIDATES} candidates are ranked,
+ * so a single letter never scans the whole catalog.
+ * <p>
+ * The index is built from {@link BookRepository} once the application is ready and is then kept in
+ * sync by {@code BookService}. Inside a transaction, changes are applied after commit, so a search
+ * never returns a book that a rolled-back write put in. Updated and deleted books leave dead
+ * ordinals behind that are dropped by an occasional compaction.
+ */
+@Slf4j
+@Component
+public class BookSearchIndex {
+
+    private static final int BUILD_PAGE_SIZE = 10_000;
+    static final int SHORT_QUERY_CANDIDATES = 10_000;
+    // Word prefix keys sit above the 48 bits of a trigram key
+    private static final long PREFIX_KEY = 1L << 48;
+
+    private final BookRepository bookRepository;
+    private final int maxResults;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IntList> postings = new HashMap<>();
+    private final Map<Long, Integer> ordinalsById = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private long[] bookIds = new long[1024];
+    private String[] titles = new String[1024];
+    private String[] authors = new String[1024];
+    private int size;
+    private volatile boolean ready;
+
+    public BookSearchIndex(BookRepository bookRepository,
+                           @Value("${app.search.max-results:100}") int maxResults) {
+        this.bookRepository = bookRepository;
+        this.maxResults = maxResults;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.currentTimeMillis();
+        long afterId = 0;
+        List<Book> page;
+        do {
+            page = bookRepository.findPageById(afterId, PageRequest.ofSize(BUILD_PAGE_SIZE));
+            lock.writeLock().lock();
+            try {
+                page.forEach(this::put);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == BUILD_PAGE_SIZE);
+
+        ready = true;
+        log.info("Book search index built with {} books in {} ms", ordinalsById.size(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void add(Book book) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                put(book);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Long bookId) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                Integer ordinal = ordinalsById.remove(bookId);
+                if (ordinal != null) {
+                    live.clear(ordinal);
+                    compactIfNeeded();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Returns the ids of books whose title or author contains the query (case-insensitive), best
+     * matches first: title matches rank above author matches, and exact/prefix/word matches above
+     * matches in the middle of a word. A query of one or two characters only matches the start of a
+     * word.
+     */
+    public List<Long> search(String query) {
+        String needle = normalize(query);
+        if (needle.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int[] candidates = needle.length() < 3 ? shortCandidates(needle) : candidates(needle);
+            // Keep only the best maxResults in a heap whose head is the worst of them
+            Comparator<long[]> ranking = Comparator.<long[]>comparingLong(entry -> -entry[0])
+                    .thenComparingLong(entry -> entry[1]);
+            PriorityQueue<long[]> best = new PriorityQueue<>(maxResults + 1, ranking.reversed());
+            for (int ordinal : candidates) {
+                int score = score(titles[ordinal], authors[ordinal], needle);
+                if (score == 0) {
+                    continue;
+                }
+                long[] entry = {score, ordinal};
+                if (best.size() < maxResults) {
+                    best.add(entry);
+                } else if (ranking.compare(entry, best.peek()) < 0) {
+                    best.poll();
+                    best.add(entry);
+                }
+            }
+
+            long[][] ranked = best.toArray(new long[0][]);
+            Arrays.sort(ranked, ranking);
+            List<Long> ids = new ArrayList<>(ranked.length);
+            for (long[] entry : ranked) {
+                ids.add(bookIds[(int) entry[1]]);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Book book) {
+        Integer previous = ordinalsById.get(book.getId());
+        if (previous != null) {
+            live.clear(previous);
+        }
+
+        int ordinal = size++;
+        if (ordinal == bookIds.length) {
+            int capacity = bookIds.length * 2;
+            bookIds = Arrays.copyOf(bookIds, capacity);
+            titles = Arrays.copyOf(titles, capacity);
+            authors = Arrays.copyOf(authors, capacity);
+        }
+        bookIds[ordinal] = book.getId();
+        titles[ordinal] = normalize(book.getTitle());
+        authors[ordinal] = normalize(book.getAuthor());
+        ordinalsById.put(book.getId(), ordinal);
+        live.set(ordinal);
+
+        Set<Long> keys = new HashSet<>();
+        addTrigrams(titles[ordinal], keys);
+        addTrigrams(authors[ordinal], keys);
+        addWordPrefixes(titles[ordinal], keys);
+        addWordPrefixes(authors[ordinal], keys);
+        for (Long key : keys) {
+            postings.computeIfAbsent(key, ignored -> new IntList()).add(ordinal);
+        }
+
+        if (previous != null) {
+            compactIfNeeded();
+        }
+    }
+
+    private int[] candidates(String needle) {
+        Set<Long> trigrams = new HashSet<>();
+        addTrigrams(needle, trigrams);
+
+        List<IntList> lists = new ArrayList<>(trigrams.size());
+        for (Long trigram : trigrams) {
+            IntList list = postings.get(trigram);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+
+        // Intersect from the rarest trigram up so the working set only shrinks
+        int[] result = Arrays.copyOf(lists.get(0).values, lists.get(0).size);
+        int length = result.length;
+        for (int i = 1; i < lists.size() && length > 0; i++) {
+            length = intersect(result, length, lists.get(i));
+        }
+
+        int[] liveResult = new int[length];
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (live.get(result[i])) {
+                liveResult[count++] = result[i];
+            }
+        }
+        return Arrays.copyOf(liveResult, count);
+    }
+
+    private int[] shortCandidates(String needle) {
+        IntList list = postings.get(prefixKey(needle, 0, needle.length()));
+        if (list == null) {
+            return new int[0];
+        }
+        int[] result = new int[Math.min(list.size, SHORT_QUERY_CANDIDATES)];
+        int count = 0;
+        for (int i = 0; i < list.size && count < result.length; i++) {
+            if (live.get(list.values[i])) {
+                result[count++] = list.values[i];
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private void compactIfNeeded() {
+        int dead = size - ordinalsById.size();
+        if (dead < 1024 || dead < ordinalsById.size() / 4) {
+            return;
+        }
+
+        long[] oldIds = bookIds;
+        String[] oldTitles = titles;
+        String[] oldAuthors = authors;
+        BitSet oldLive = (BitSet) live.clone();
+
+        postings.clear();
+        ordinalsById.clear();
+        live.clear();
+        size = 0;
+        for (int ordinal = oldLive.nextSetBit(0); ordinal >= 0; ordinal = oldLive.nextSetBit(ordinal + 1)) {
+            Book book = Book.builder()
+                    .id(oldIds[ordinal])
+                    .title(oldTitles[ordinal])
+                    .author(oldAuthors[ordinal])
+                    .build();
+            put(book);
+        }
+    }
+
+    /**
+     * Keeps the first {@code length} ordinals of {@code target} that also appear in {@code list}.
+     * The target is the smaller side, so each of its ordinals gallops ahead through the list instead
+     * of the merge walking every entry of a trigram that half the catalog shares.
+     */
+    private static int intersect(int[] target, int length, IntList list) {
+        int count = 0;
+        int from = 0;
+        for (int i = 0; i < length && from < list.size; i++) {
+            from = seek(list, from, target[i]);
+            if (from < list.size && list.values[from] == target[i]) {
+                target[count++] = target[i];
+                from++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the first position at or after {@code from} whose ordinal is not below {@code ordinal},
+     * or the list size if there is none.
+     */
+    private static int seek(IntList list, int from, int ordinal) {
+        int high = from;
+        int step = 1;
+        while (high < list.size && list.values[high] < ordinal) {
+            from = high + 1;
+            high += step;
+            step <<= 1;
+        }
+        int index = Arrays.binarySearch(list.values, from, Math.min(high, list.size), ordinal);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private static int score(String title, String author, String needle) {
+        int titleScore = fieldScore(title, needle);
+        if (titleScore > 0) {
+            return titleScore * 2;
+        }
+        return fieldScore(author, needle);
+    }
+
+    private static int fieldScore(String field, String needle) {
+        if (field.equals(needle)) {
+            return 4;
+        }
+        if (field.startsWith(needle)) {
+            return 3;
+        }
+        int index = field.indexOf(needle);
+        if (index < 0) {
+            return 0;
+        }
+        return field.indexOf(" " + needle) >= 0 ? 2 : 1;
+    }
+
+    private static void addTrigrams(String text, Set<Long> trigrams) {
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            trigrams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+    }
+
+    private static void addWordPrefixes(String text, Set<Long> keys) {
+        for (int i = 0; i < text.length(); i++) {
+            if (i == 0 || text.charAt(i - 1) == ' ') {
+                keys.add(prefixKey(text, i, 1));
+                if (i + 1 < text.length()) {
+                    keys.add(prefixKey(text, i, 2));
+                }
+            }
+        }
+    }
+
+    private static long prefixKey(String text, int start, int length) {
+        long key = PREFIX_KEY | ((long) length << 40) | ((long) text.charAt(start) << 16);
+        return length == 2 ? key | text.charAt(start + 1) : key;
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
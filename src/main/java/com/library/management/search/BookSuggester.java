@@ -0,0 +1,94 @@
+package com.library.management.search;
+
+import com.library.management.entity.Book;
+import com.library.management.repository.BookRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serves type-ahead suggestions from an immutable {@link SuggestionDictionary}. Catalog changes
+ * only schedule a rebuild: changes arriving within {@code app.suggest.rebuild-delay} are coalesced
+ * into one background rebuild, and the finished dictionary is swapped in with a single volatile write.
+ */
+@Slf4j
+@Component
+public class BookSuggester {
+
+    private static final int BUILD_PAGE_SIZE = 10_000;
+
+    private final BookRepository bookRepository;
+    private final long rebuildDelay;
+    private final int maxLimit;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "book-suggester");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private volatile SuggestionDictionary dictionary = SuggestionDictionary.EMPTY;
+
+    public BookSuggester(BookRepository bookRepository,
+                         @Value("${app.suggest.rebuild-delay:5000}") long rebuildDelay,
+                         @Value("${app.suggest.max-limit:25}") int maxLimit) {
+        this.bookRepository = bookRepository;
+        this.rebuildDelay = rebuildDelay;
+        this.maxLimit = maxLimit;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildScheduled.set(true);
+        executor.execute(this::rebuild);
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        return dictionary.suggest(prefix, Math.min(limit, maxLimit));
+    }
+
+    public void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            executor.schedule(this::rebuild, rebuildDelay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void rebuild() {
+        // Cleared before reading so changes made during the rebuild schedule another one
+        rebuildScheduled.set(false);
+        try {
+            long start = System.currentTimeMillis();
+            SuggestionDictionary.Builder builder = new SuggestionDictionary.Builder();
+            long afterId = 0;
+            List<Book> page;
+            do {
+                page = bookRepository.findPageById(afterId, PageRequest.ofSize(BUILD_PAGE_SIZE));
+                for (Book book : page) {
+                    builder.add(book.getTitle());
+                    builder.add(book.getAuthor());
+                    afterId = book.getId();
+                }
+            } while (page.size() == BUILD_PAGE_SIZE);
+
+            dictionary = builder.build();
+            log.info("Suggestion dictionary rebuilt with {} terms in {} ms", dictionary.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("Suggestion dictionary rebuild failed, keeping the previous one", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,144 @@
+package com.library.management.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable prefix dictionary of normalized titles and authors. Terms are kept in one sorted
+ * array, so every prefix maps to a contiguous range found by binary search; a range-max tree over
+ * the term weights then yields the top-k terms of that range in O(k log n) without visiting the
+ * rest of it. This is far more compact than a pointer-based trie for millions of terms.
+ */
+public final class SuggestionDictionary {
+
+    static final SuggestionDictionary EMPTY = new Builder().build();
+
+    private final String[] terms;
+    private final String[] displays;
+    private final int[] weights;
+    // tree[n + i] = i, inner nodes hold the index of the heaviest term below them
+    private final int[] tree;
+
+    private SuggestionDictionary(String[] terms, String[] displays, int[] weights) {
+        this.terms = terms;
+        this.displays = displays;
+        this.weights = weights;
+
+        int n = terms.length;
+        this.tree = new int[2 * n];
+        for (int i = 0; i < n; i++) {
+            tree[n + i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            tree[i] = heavier(tree[2 * i], tree[2 * i + 1]);
+        }
+    }
+
+    public int size() {
+        return terms.length;
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        String normalized = BookSearchIndex.normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0 || terms.length == 0) {
+            return List.of();
+        }
+
+        int from = lowerBound(normalized);
+        int to = lowerBound(normalized + Character.MAX_VALUE);
+        if (from >= to) {
+            return List.of();
+        }
+
+        // Each queue entry is {best index, range start, range end}; popping the best and splitting
+        // its range around it produces the next-best candidates
+        PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> weights[a[0]] != weights[b[0]]
+                ? Integer.compare(weights[b[0]], weights[a[0]])
+                : Integer.compare(a[0], b[0]));
+        ranges.add(new int[]{maxIn(from, to), from, to});
+
+        List<String> suggestions = new ArrayList<>(limit);
+        while (!ranges.isEmpty() && suggestions.size() < limit) {
+            int[] range = ranges.poll();
+            int best = range[0];
+            suggestions.add(displays[best]);
+            if (range[1] < best) {
+                ranges.add(new int[]{maxIn(range[1], best), range[1], best});
+            }
+            if (best + 1 < range[2]) {
+                ranges.add(new int[]{maxIn(best + 1, range[2]), best + 1, range[2]});
+            }
+        }
+        return suggestions;
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = terms.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (terms[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int maxIn(int from, int to) {
+        int n = terms.length;
+        int best = from;
+        for (int l = from + n, r = to + n; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) {
+                best = heavier(best, tree[l++]);
+            }
+            if ((r & 1) == 1) {
+                best = heavier(best, tree[--r]);
+            }
+        }
+        return best;
+    }
+
+    private int heavier(int a, int b) {
+        if (weights[a] != weights[b]) {
+            return weights[a] > weights[b] ? a : b;
+        }
+        return Math.min(a, b);
+    }
+
+    public static final class Builder {
+
+        private final Map<String, Integer> weights = new HashMap<>();
+        private final Map<String, String> displays = new HashMap<>();
+
+        /**
+         * Adds one occurrence of a term; terms that occur more often (an author with many books,
+         * a title with many editions) are suggested first.
+         */
+        public Builder add(String term) {
+            String normalized = BookSearchIndex.normalize(term);
+            if (!normalized.isEmpty()) {
+                weights.merge(normalized, 1, Integer::sum);
+                displays.putIfAbsent(normalized, term.trim());
+            }
+            return this;
+        }
+
+        public SuggestionDictionary build() {
+            String[] terms = weights.keySet().toArray(new String[0]);
+            Arrays.sort(terms);
+            String[] termDisplays = new String[terms.length];
+            int[] termWeights = new int[terms.length];
+            for (int i = 0; i < terms.length; i++) {
+                termDisplays[i] = displays.get(terms[i]);
+                termWeights[i] = weights.get(terms[i]);
+            }
+            return new SuggestionDictionary(terms, termDisplays, termWeights);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.library.management.service;
 
+import com.library.management.cache.UserCache;
 import com.library.management.dto.AuthRequest;
 import com.library.management.dto.AuthResponse;
 import com.library.management.dto.UserDto;
@@ -7,6 +8,7 @@ import com.library.management.entity.User;
 import com.library.management.exception.BadRequestException;
 import com.library.management.exception.UnauthorizedException;
 import com.library.management.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -17,12 +19,15 @@ import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
+@Timed("library.service")
 public class AuthService {
 
     private final UserRepository userRepository;
+    private final UserCache userCache;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final CurrentUserContext currentUserContext;
 
     public AuthResponse register(UserDto userDto) {
         if (userRepository.existsByUsername(userDto.getUsername())) {
@@ -40,6 +45,7 @@ public class AuthService {
                 .build();
 
         userRepository.save(user);
+        userCache.evict(user);
 
         String accessToken = jwtService.generateToken(user);
         String refreshToken = jwtService.generateRefreshToken(user);
@@ -64,7 +70,7 @@ public class AuthService {
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        User user = userRepository.findByUsername(request.getUsername())
+        User user = userCache.findByUsername(request.getUsername())
                 .orElseThrow(() -> new UnauthorizedException("Invalid username or password"));
 
         String accessToken = jwtService.generateToken(user);
@@ -82,12 +88,12 @@ public class AuthService {
     }
 
     public AuthResponse refreshToken(String refreshToken) {
-        String username = jwtService.extractUsername(refreshToken);
+        JwtClaims claims = jwtService.parseToken(refreshToken);
 
-        User user = userRepository.findByUsername(username)
+        User user = userCache.findByUsername(jwtService.extractUsername(claims))
                 .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
 
-        if (!jwtService.isTokenValid(refreshToken, user)) {
+        if (!jwtService.isTokenValid(claims, user)) {
             throw new UnauthorizedException("Invalid refresh token");
         }
 
@@ -104,8 +110,6 @@ public class AuthService {
     }
 
     public User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return userRepository.findByUsername(authentication.getName())
-                .orElseThrow(() -> new UnauthorizedException("User not found"));
+        return currentUserContext.getUser();
     }
 }
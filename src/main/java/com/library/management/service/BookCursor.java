@@ -0,0 +1,45 @@
+package com.library.management.service;
+
+import com.library.management.dto.BookSort;
+import com.library.management.entity.Book;
+import com.library.management.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a catalog page. Encoded as an opaque URL-safe string so clients
+ * cannot depend on its layout.
+ */
+record BookCursor(BookSort sort, long lastId, String lastTitle) {
+
+    static final BookCursor START_BY_ID = new BookCursor(BookSort.ID, 0L, "");
+    static final BookCursor START_BY_TITLE = new BookCursor(BookSort.TITLE, 0L, "");
+
+    static BookCursor start(BookSort sort) {
+        return sort == BookSort.TITLE ? START_BY_TITLE : START_BY_ID;
+    }
+
+    static BookCursor after(BookSort sort, Book book) {
+        return new BookCursor(sort, book.getId(), sort == BookSort.TITLE ? book.getTitle() : "");
+    }
+
+    static BookCursor decode(String cursor, BookSort sort) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(":", 3);
+            BookCursor bookCursor = new BookCursor(BookSort.valueOf(parts[0]), Long.parseLong(parts[1]), parts[2]);
+            if (bookCursor.sort() != sort) {
+                throw new BadRequestException("Cursor was issued for sort " + bookCursor.sort());
+            }
+            return bookCursor;
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    String encode() {
+        String raw = sort.name() + ":" + lastId + ":" + lastTitle;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,34 +1,93 @@
 package com.library.management.service;
 
+import com.library.management.cache.AvailabilityCounter;
+import com.library.management.cache.BorrowStamps;
+import com.library.management.cache.CatalogVersion;
 import com.library.management.dto.BookDto;
+import com.library.management.dto.BookSort;
+import com.library.management.dto.CursorPage;
 import com.library.management.entity.Book;
+import com.library.management.entity.OutboxEvent;
+import com.library.management.exception.BadRequestException;
 import com.library.management.exception.ResourceNotFoundException;
+import com.library.management.outbox.Outbox;
 import com.library.management.repository.BookRepository;
+import com.library.management.search.BookSearchIndex;
+import com.library.management.search.BookSuggester;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed("library.service")
 public class BookService {
 
     private final BookRepository bookRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookSuggester bookSuggester;
+    private final AvailabilityCounter availabilityCounter;
+    private final CatalogVersion catalogVersion;
+    private final BorrowStamps borrowStamps;
+    private final Outbox outbox;
+
+    @Value("${app.books.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${app.books.page.max-size:100}")
+    private int maxPageSize;
+
+    @Transactional(readOnly = true)
+    public CursorPage<BookDto> getAllBooks(String cursor, Integer size, BookSort sort) {
+        return getPage(cursor, size, sort, false);
+    }
 
-    public List<BookDto> getAllBooks() {
-        return bookRepository.findAll().stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPage<BookDto> getAvailableBooks(String cursor, Integer size, BookSort sort) {
+        return getPage(cursor, size, sort, true);
     }
 
-    public List<BookDto> getAvailableBooks() {
-        return bookRepository.findByAvailable(true).stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+    private CursorPage<BookDto> getPage(String cursor, Integer size, BookSort sort, boolean availableOnly) {
+        BookCursor position = cursor == null || cursor.isEmpty() ? BookCursor.start(sort) : BookCursor.decode(cursor, sort);
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+
+        // One extra row tells whether another page exists without a count query
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+        List<Book> books;
+        if (sort == BookSort.TITLE) {
+            books = availableOnly
+                    ? bookRepository.findAvailablePageByTitle(position.lastTitle(), position.lastId(), limit)
+                    : bookRepository.findPageByTitle(position.lastTitle(), position.lastId(), limit);
+        } else {
+            books = availableOnly
+                    ? bookRepository.findAvailablePageById(position.lastId(), limit)
+                    : bookRepository.findPageById(position.lastId(), limit);
+        }
+
+        String nextCursor = null;
+        if (books.size() > pageSize) {
+            books = books.subList(0, pageSize);
+            nextCursor = BookCursor.after(sort, books.get(pageSize - 1)).encode();
+        }
+
+        return CursorPage.<BookDto>builder()
+                .items(books.stream().map(this::mapToDto).collect(Collectors.toList()))
+                .size(books.size())
+                .nextCursor(nextCursor)
+                .build();
     }
 
+    @Transactional(readOnly = true)
     public BookDto getBookById(Long id) {
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Book", "id", id));
@@ -36,31 +95,47 @@ public class BookService {
         return mapToDto(book);
     }
 
+    @Transactional(timeoutString = Outbox.WRITER_TIMEOUT)
     public BookDto createBook(BookDto bookDto) {
+        int copies = bookDto.getTotalCopies() == null ? 1 : bookDto.getTotalCopies();
         Book book = Book.builder()
                 .title(bookDto.getTitle())
                 .author(bookDto.getAuthor())
-                .available(bookDto.getAvailable())
+                .totalCopies(copies)
+                .availableCopies(copies)
                 .build();
 
         Book savedBook = bookRepository.save(book);
+        outbox.bookChanged(OutboxEvent.Type.BOOK_CREATED, savedBook.getId());
+        bookSearchIndex.add(savedBook);
+        bookSuggester.scheduleRebuild();
+        catalogVersion.bump();
 
         return mapToDto(savedBook);
     }
 
+    @Transactional(timeoutString = Outbox.WRITER_TIMEOUT)
     public BookDto updateBook(Long id, BookDto bookDto) {
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Book", "id", id));
 
         book.setTitle(bookDto.getTitle());
         book.setAuthor(bookDto.getAuthor());
-        book.setAvailable(bookDto.getAvailable());
 
         Book updatedBook = bookRepository.save(book);
+        if (bookDto.getTotalCopies() != null) {
+            updatedBook = resizeCopies(updatedBook, bookDto.getTotalCopies());
+        }
+        outbox.bookChanged(OutboxEvent.Type.BOOK_UPDATED, id);
+        bookSearchIndex.add(updatedBook);
+        bookSuggester.scheduleRebuild();
+        catalogVersion.bump();
+        borrowStamps.touchAll();
 
         return mapToDto(updatedBook);
     }
 
+    @Transactional(timeoutString = Outbox.WRITER_TIMEOUT)
     public BookDto patchBook(Long id, Map<String, Object> updates) {
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Book", "id", id));
@@ -73,35 +148,80 @@ public class BookService {
             book.setAuthor((String) updates.get("author"));
         }
 
-        if (updates.containsKey("available")) {
-            book.setAvailable((Boolean) updates.get("available"));
-        }
-
         Book updatedBook = bookRepository.save(book);
+        if (updates.containsKey("totalCopies")) {
+            updatedBook = resizeCopies(updatedBook, ((Number) updates.get("totalCopies")).intValue());
+        }
+        outbox.bookChanged(OutboxEvent.Type.BOOK_UPDATED, id);
+        bookSearchIndex.add(updatedBook);
+        bookSuggester.scheduleRebuild();
+        catalogVersion.bump();
+        borrowStamps.touchAll();
 
         return mapToDto(updatedBook);
     }
 
-
+    @Transactional(timeoutString = Outbox.WRITER_TIMEOUT)
     public void deleteBook(Long id) {
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Book", "id", id));
 
         bookRepository.delete(book);
+        outbox.bookChanged(OutboxEvent.Type.BOOK_DELETED, id);
+        availabilityCounter.invalidate(id);
+        bookSearchIndex.remove(id);
+        bookSuggester.scheduleRebuild();
+        catalogVersion.bump();
+        borrowStamps.touchAll();
     }
 
+    @Transactional(readOnly = true)
     public List<BookDto> searchBooks(String query) {
-        return bookRepository.findByTitleContainingOrAuthorContaining(query, query).stream()
+        // Until the in-memory index has finished its startup build, fall back to the LIKE query
+        if (!bookSearchIndex.isReady()) {
+            return bookRepository.findByTitleContainingOrAuthorContaining(query, query).stream()
+                    .map(this::mapToDto)
+                    .collect(Collectors.toList());
+        }
+
+        List<Long> rankedIds = bookSearchIndex.search(query);
+        Map<Long, Book> booksById = bookRepository.findAllById(rankedIds).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+
+        return rankedIds.stream()
+                .map(booksById::get)
+                .filter(Objects::nonNull)
                 .map(this::mapToDto)
                 .collect(Collectors.toList());
     }
 
+    public List<String> suggest(String prefix, int limit) {
+        return bookSuggester.suggest(prefix, limit);
+    }
+
+    private Book resizeCopies(Book book, int totalCopies) {
+        if (totalCopies < 1) {
+            throw new BadRequestException("A book needs at least one copy");
+        }
+        if (totalCopies == book.getTotalCopies()) {
+            return book;
+        }
+        // Applied as one relative update so borrows and returns running meanwhile are not lost
+        if (bookRepository.resizeCopies(book.getId(), totalCopies) == 0) {
+            throw new BadRequestException("Cannot reduce copies below the number currently borrowed");
+        }
+        availabilityCounter.invalidate(book.getId());
+        return getBookEntityById(book.getId());
+    }
+
     private BookDto mapToDto(Book book) {
         return BookDto.builder()
                 .id(book.getId())
                 .title(book.getTitle())
                 .author(book.getAuthor())
-                .available(book.getAvailable())
+                .totalCopies(book.getTotalCopies())
+                .availableCopies(book.getAvailableCopies())
+                .available(book.getAvailableCopies() > 0)
                 .build();
     }
 
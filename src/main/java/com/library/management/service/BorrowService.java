@@ -1,68 +1,108 @@
 package com.library.management.service;
 
+import com.library.management.cache.AvailabilityCounter;
+import com.library.management.cache.BorrowStamps;
+import com.library.management.cache.CatalogVersion;
+import com.library.management.dto.BatchItemResult;
+import com.library.management.dto.BatchResult;
 import com.library.management.dto.BorrowDto;
 import com.library.management.entity.Book;
 import com.library.management.entity.Borrow;
+import com.library.management.entity.OutboxEvent;
 import com.library.management.entity.User;
 import com.library.management.exception.BadRequestException;
 import com.library.management.exception.ResourceNotFoundException;
+import com.library.management.outbox.Outbox;
+import com.library.management.repository.BookRepository;
 import com.library.management.repository.BorrowRepository;
 import com.library.management.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed("library.service")
 public class BorrowService {
 
     private final UserRepository userRepository;
     private final BorrowRepository borrowRepository;
+    private final BookRepository bookRepository;
     private final BookService bookService;
     private final AuthService authService;
+    private final AvailabilityCounter availabilityCounter;
+    private final CatalogVersion catalogVersion;
+    private final BorrowStamps borrowStamps;
+    private final Outbox outbox;
 
+    @Value("${app.borrow.batch.max-size:50}")
+    private int maxBatchSize;
+
+    @Transactional(readOnly = true)
     public List<BorrowDto> getAllBorrowedBooks() {
-        return borrowRepository.findByReturnedAtIsNull().stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        return borrowRepository.findOpenBorrows();
     }
 
+    @Transactional(readOnly = true)
     public List<BorrowDto> getUserBorrowHistory() {
         User currentUser = authService.getCurrentUser();
-        return borrowRepository.findByUserOrderByBorrowedAtDesc(currentUser).stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        return borrowRepository.findHistoryByUserId(currentUser.getId());
     }
 
-    @Transactional
+    @Transactional(timeoutString = Outbox.WRITER_TIMEOUT)
     public BorrowDto borrowBook(Long bookId) {
         User currentUser = authService.getCurrentUser();
-        Book book = bookService.getBookEntityById(bookId);
 
-        if (!book.getAvailable()) {
+        // The local counter turns away borrowers of exhausted titles without a write; the conditional
+        // decrement in the database stays the authority on whether a copy was really taken
+        if (!availabilityCounter.tryAcquire(bookId)) {
+            bookService.getBookEntityById(bookId); // unknown books are a 404, not a 400
             throw new BadRequestException("Book is not available for borrowing");
         }
-
-        // Mark book as unavailable
-        book.setAvailable(false);
+        if (bookRepository.markBorrowed(bookId) == 0) {
+            availabilityCounter.invalidate(bookId);
+            throw new BadRequestException("Book is not available for borrowing");
+        }
+        catalogVersion.bump();
+        borrowStamps.touch(currentUser.getId());
+        Book book = bookService.getBookEntityById(bookId);
 
         // Create borrow record
         Borrow borrow = Borrow.builder()
                 .user(currentUser)
                 .book(book)
                 .borrowedAt(LocalDateTime.now())
+                .openBookId(bookId)
                 .build();
 
-        Borrow savedBorrow = borrowRepository.save(borrow);
+        Borrow savedBorrow;
+        try {
+            savedBorrow = borrowRepository.saveAndFlush(borrow);
+        } catch (DataIntegrityViolationException e) {
+            // uk_borrows_open_book_user: this user already has a copy of the book
+            throw new BadRequestException("You have already borrowed this book");
+        }
+        outbox.borrowChanged(OutboxEvent.Type.BOOK_BORROWED, bookId, currentUser.getId(), savedBorrow.getId());
 
         return mapToDto(savedBorrow);
     }
 
-    @Transactional
+    @Transactional(timeoutString = Outbox.WRITER_TIMEOUT)
     public BorrowDto returnBook(Long bookId) {
         User currentUser = authService.getCurrentUser();
         Book book = bookService.getBookEntityById(bookId);
@@ -70,17 +110,149 @@ public class BorrowService {
         Borrow borrow = borrowRepository.findByBookAndUserAndReturnedAtIsNull(book, currentUser)
                 .orElseThrow(() -> new ResourceNotFoundException("Borrow record not found for this book and user"));
 
-        // Mark book as available
-        book.setAvailable(true);
-
-        // Update return date
+        // Update return date and release the open-borrow slot
         borrow.setReturnedAt(LocalDateTime.now());
+        borrow.setOpenBookId(null);
 
         Borrow updatedBorrow = borrowRepository.save(borrow);
+        borrowStamps.touch(currentUser.getId());
+        outbox.borrowChanged(OutboxEvent.Type.BOOK_RETURNED, bookId, currentUser.getId(), updatedBorrow.getId());
+
+        // Put the copy back on the shelf
+        if (bookRepository.markReturned(bookId) > 0) {
+            availabilityCounter.release(bookId);
+            catalogVersion.bump();
+        }
 
         return mapToDto(updatedBorrow);
     }
 
+    /**
+     * Borrows every listed book in one transaction. Books that cannot be borrowed are reported as
+     * failed items instead of failing the whole batch.
+     */
+    @Transactional(timeoutString = Outbox.WRITER_TIMEOUT)
+    public BatchResult borrowBooks(List<Long> bookIds) {
+        User currentUser = authService.getCurrentUser();
+        List<Long> ids = distinctBatch(bookIds);
+
+        // One IN-list select each for the books and for the ones this user already holds
+        Map<Long, Book> books = bookRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        Set<Long> alreadyBorrowed = new HashSet<>(borrowRepository.findOpenBookIdsByUserId(currentUser.getId(), ids));
+
+        Map<Long, BatchItemResult> results = new LinkedHashMap<>();
+        List<Long> candidates = new ArrayList<>();
+        for (Long id : ids) {
+            if (!books.containsKey(id)) {
+                results.put(id, BatchItemResult.failed(id, "Book not found with id: " + id));
+            } else if (alreadyBorrowed.contains(id)) {
+                results.put(id, BatchItemResult.failed(id, "You have already borrowed this book"));
+            } else if (!availabilityCounter.tryAcquire(id, books.get(id).getAvailableCopies())) {
+                results.put(id, BatchItemResult.failed(id, "Book is not available for borrowing"));
+            } else {
+                results.put(id, null);
+                candidates.add(id);
+            }
+        }
+
+        // All conditional decrements go out as one JDBC batch
+        int[] updated = candidates.isEmpty() ? new int[0] : bookRepository.markBorrowedAll(candidates);
+        LocalDateTime now = LocalDateTime.now();
+        List<Borrow> borrows = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            Long id = candidates.get(i);
+            if (updated[i] == 0) {
+                availabilityCounter.invalidate(id);
+                results.put(id, BatchItemResult.failed(id, "Book is not available for borrowing"));
+                continue;
+            }
+            borrows.add(Borrow.builder()
+                    .user(currentUser)
+                    .book(books.get(id))
+                    .borrowedAt(now)
+                    .openBookId(id)
+                    .build());
+        }
+
+        if (!borrows.isEmpty()) {
+            catalogVersion.bump();
+            borrowStamps.touch(currentUser.getId());
+        }
+
+        try {
+            // Pooled ids let Hibernate send the inserts as a JDBC batch on flush
+            borrowRepository.saveAllAndFlush(borrows);
+        } catch (DataIntegrityViolationException e) {
+            // Only reachable when the same user runs two batches with overlapping books at once
+            throw new BadRequestException("Some of these books were borrowed concurrently, please retry");
+        }
+        for (Borrow borrow : borrows) {
+            outbox.borrowChanged(OutboxEvent.Type.BOOK_BORROWED, borrow.getOpenBookId(), currentUser.getId(), borrow.getId());
+            results.put(borrow.getOpenBookId(), BatchItemResult.succeeded(borrow.getOpenBookId(), mapToDto(borrow)));
+        }
+
+        return BatchResult.of(new ArrayList<>(results.values()));
+    }
+
+    /**
+     * Returns every listed book in one transaction, reporting books without an open borrow as
+     * failed items.
+     */
+    @Transactional(timeoutString = Outbox.WRITER_TIMEOUT)
+    public BatchResult returnBooks(List<Long> bookIds) {
+        User currentUser = authService.getCurrentUser();
+        List<Long> ids = distinctBatch(bookIds);
+
+        Map<Long, Borrow> openBorrows = borrowRepository.findOpenByUserIdAndBookIds(currentUser.getId(), ids).stream()
+                .collect(Collectors.toMap(Borrow::getOpenBookId, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> returned = new ArrayList<>();
+        for (Long id : ids) {
+            Borrow borrow = openBorrows.get(id);
+            if (borrow != null) {
+                borrow.setReturnedAt(now);
+                borrow.setOpenBookId(null);
+                returned.add(id);
+            }
+        }
+        // Dirty borrows are flushed as one batched update, then the copies go back as one batch
+        borrowRepository.flush();
+        if (!returned.isEmpty()) {
+            borrowStamps.touch(currentUser.getId());
+        }
+        for (Long id : returned) {
+            outbox.borrowChanged(OutboxEvent.Type.BOOK_RETURNED, id, currentUser.getId(), openBorrows.get(id).getId());
+        }
+        int[] updated = returned.isEmpty() ? new int[0] : bookRepository.markReturnedAll(returned);
+        for (int i = 0; i < returned.size(); i++) {
+            if (updated[i] > 0) {
+                availabilityCounter.release(returned.get(i));
+            }
+        }
+        if (Arrays.stream(updated).anyMatch(count -> count > 0)) {
+            catalogVersion.bump();
+        }
+
+        List<BatchItemResult> results = new ArrayList<>();
+        for (Long id : ids) {
+            Borrow borrow = openBorrows.get(id);
+            results.add(borrow == null
+                    ? BatchItemResult.failed(id, "Borrow record not found for this book and user")
+                    : BatchItemResult.succeeded(id, mapToDto(borrow)));
+        }
+        return BatchResult.of(results);
+    }
+
+    private List<Long> distinctBatch(List<Long> bookIds) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(bookIds));
+        if (ids.size() > maxBatchSize) {
+            throw new BadRequestException("At most " + maxBatchSize + " books can be processed in one batch");
+        }
+        return ids;
+    }
+
     private BorrowDto mapToDto(Borrow borrow) {
         return BorrowDto.builder()
                 .id(borrow.getId())
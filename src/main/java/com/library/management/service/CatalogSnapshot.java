@@ -0,0 +1,155 @@
+package com.library.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.management.cache.CatalogVersion;
+import com.library.management.config.ReplicaRoutingDataSource;
+import com.library.management.dto.BookSort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The default {@code GET /books} response (first page of available books, default size, by id)
+ * held as encoded JSON, plus a gzipped copy when {@code app.books.snapshot.gzip} is on, so every
+ * patron is served the same bytes without a query or serialization. Each snapshot carries the
+ * {@link CatalogVersion} it was read at and is only handed out while that is still current.
+ * Catalog changes schedule a rebuild; changes within {@code app.books.snapshot.rebuild-delay}
+ * are coalesced into one. The version only sees changes made through this instance, so a snapshot
+ * older than {@code app.books.snapshot.max-age} is not served either and is rebuilt instead.
+ */
+@Slf4j
+@Component
+public class CatalogSnapshot implements MeterBinder {
+
+    public record Snapshot(long version, long builtAt, byte[] json, byte[] gzip) {
+    }
+
+    private final BookService bookService;
+    private final CatalogVersion catalogVersion;
+    private final ObjectMapper objectMapper;
+    private final long rebuildDelay;
+    private final long maxAge;
+    private final boolean gzip;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private volatile Snapshot snapshot;
+
+    private volatile Counter hits;
+    private volatile Counter misses;
+    private volatile Timer rebuilds;
+
+    public CatalogSnapshot(BookService bookService,
+                           CatalogVersion catalogVersion,
+                           ObjectMapper objectMapper,
+                           @Value("${app.books.snapshot.rebuild-delay:250}") long rebuildDelay,
+                           @Value("${app.books.snapshot.max-age:30000}") long maxAge,
+                           @Value("${app.books.snapshot.gzip:true}") boolean gzip) {
+        this.bookService = bookService;
+        this.catalogVersion = catalogVersion;
+        this.objectMapper = objectMapper;
+        this.rebuildDelay = rebuildDelay;
+        this.maxAge = maxAge;
+        this.gzip = gzip;
+        catalogVersion.onChange(this::scheduleRebuild);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildScheduled.set(true);
+        executor.execute(this::rebuild);
+    }
+
+    /**
+     * Returns the snapshot if it still matches the catalog, otherwise {@code null} and the caller
+     * reads the page from the database.
+     */
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        boolean fresh = current != null && current.version() == catalogVersion.current()
+                && System.currentTimeMillis() - current.builtAt() < maxAge;
+        if (current != null && !fresh) {
+            scheduleRebuild();
+        }
+        Counter counter = fresh ? hits : misses;
+        if (counter != null) {
+            counter.increment();
+        }
+        return fresh ? current : null;
+    }
+
+    public void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            executor.schedule(this::rebuild, rebuildDelay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Builds a snapshot on the calling thread and swaps it in.
+     */
+    public void rebuild() {
+        // Cleared before reading so changes made during the rebuild schedule another one
+        rebuildScheduled.set(false);
+        long start = System.nanoTime();
+        try {
+            // Read before the page: a change committed meanwhile leaves the snapshot already stale. The
+            // page comes from the primary, a lagging replica would pair this version with older rows
+            long version = catalogVersion.current();
+            long builtAt = System.currentTimeMillis();
+            byte[] json = objectMapper.writeValueAsBytes(ReplicaRoutingDataSource.onPrimary(
+                    () -> bookService.getAvailableBooks(null, null, BookSort.ID)));
+            snapshot = new Snapshot(version, builtAt, json, gzip ? gzip(json) : null);
+        } catch (IOException | RuntimeException e) {
+            log.error("Catalog snapshot rebuild failed, requests fall back to the database", e);
+        }
+        Timer timer = rebuilds;
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        hits = Counter.builder("catalog.snapshot.requests").tag("result", "hit")
+                .description("Default book listings served from the snapshot").register(registry);
+        misses = Counter.builder("catalog.snapshot.requests").tag("result", "miss")
+                .description("Default book listings read from the database").register(registry);
+        rebuilds = Timer.builder("catalog.snapshot.rebuild").register(registry);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream compressed = new GZIPOutputStream(out)) {
+            compressed.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,46 @@
+package com.library.management.service;
+
+import com.library.management.cache.UserCache;
+import com.library.management.entity.User;
+import com.library.management.exception.UnauthorizedException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * Holds the authenticated user for the duration of one request. The filter stores the principal
+ * rebuilt from the token; the full user row is fetched lazily and at most once per request.
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class CurrentUserContext {
+
+    private final UserCache userCache;
+
+    private User principal;
+    private User user;
+
+    public void setPrincipal(User principal) {
+        this.principal = principal;
+    }
+
+    public User getUser() {
+        if (user == null) {
+            String username = principal != null ? principal.getUsername() : authenticatedUsername();
+            user = userCache.findByUsername(username)
+                    .orElseThrow(() -> new UnauthorizedException("User not found"));
+        }
+        return user;
+    }
+
+    private String authenticatedUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new UnauthorizedException("User not found");
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,75 @@
+package com.library.management.service;
+
+import com.library.management.cache.BorrowStamps;
+import com.library.management.cache.CatalogVersion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+
+/**
+ * Strong ETags for the polled read endpoints, built from in-memory version counters so that a
+ * conditional request can be answered before any query. Every tag carries a random per-process
+ * nonce, because the counters restart with the process, and the current {@code app.etag.max-age}
+ * period, which bounds how long a change made through another instance can go unnoticed.
+ */
+@Component
+public class EntityTags {
+
+    private final CatalogVersion catalogVersion;
+    private final BorrowStamps borrowStamps;
+    private final AuthService authService;
+    private final long maxAge;
+    private final String nonce = Long.toString(new SecureRandom().nextLong() >>> 1, 36);
+
+    public EntityTags(CatalogVersion catalogVersion,
+                      BorrowStamps borrowStamps,
+                      AuthService authService,
+                      @Value("${app.etag.max-age:30000}") long maxAge) {
+        this.catalogVersion = catalogVersion;
+        this.borrowStamps = borrowStamps;
+        this.authService = authService;
+        this.maxAge = maxAge;
+    }
+
+    public String catalog() {
+        return tag("c" + catalogVersion.current());
+    }
+
+    public String currentUserHistory() {
+        Long userId = authService.getCurrentUser().getId();
+        return tag("u" + userId + "." + borrowStamps.current(userId));
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header lists the tag, or its {@link #gzipVariant}. As the
+     * HTTP spec asks for this header, a weak {@code W/} prefix is ignored.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String gzipped = gzipVariant(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(etag) || candidate.equals(gzipped)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The tag for the gzipped bytes of the same response, which a strong tag must tell apart.
+     */
+    public static String gzipVariant(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+
+    private String tag(String version) {
+        return "\"" + nonce + "." + System.currentTimeMillis() / maxAge + "." + version + "\"";
+    }
+}
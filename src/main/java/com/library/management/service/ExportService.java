@@ -0,0 +1,166 @@
+package com.library.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.library.management.dto.BookDto;
+import com.library.management.dto.BorrowDto;
+import com.library.management.dto.ExportFormat;
+import com.library.management.entity.Book;
+import com.library.management.entity.Borrow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streams full-table dumps straight from a forward-only JDBC result set to the response. Rows are
+ * written as they are read and the persistence context is cleared every
+ * {@code app.export.clear-interval} rows, so heap usage does not depend on table size. Like
+ * imports, exports bypass the second-level cache.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    private static final List<String> BOOK_COLUMNS = List.of("id", "title", "author", "totalCopies", "availableCopies", "available");
+    private static final List<String> BORROW_COLUMNS =
+            List.of("id", "userId", "username", "bookId", "bookTitle", "borrowedAt", "returnedAt");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${app.export.clear-interval:1000}")
+    private int clearInterval;
+
+    @Transactional(readOnly = true)
+    public void exportBooks(ExportFormat format, OutputStream out) throws IOException {
+        bypassSecondLevelCache();
+        Stream<Book> books = entityManager.createQuery("select b from Book b order by b.id", Book.class)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream();
+
+        write(books, format, out, BOOK_COLUMNS, book -> BookDto.builder()
+                .id(book.getId())
+                .title(book.getTitle())
+                .author(book.getAuthor())
+                .totalCopies(book.getTotalCopies())
+                .availableCopies(book.getAvailableCopies())
+                .available(book.getAvailableCopies() > 0)
+                .build(), this::bookRow);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportBorrows(ExportFormat format, OutputStream out) throws IOException {
+        bypassSecondLevelCache();
+        // Fetch joins stop the lazy user/book associations from firing one select per row
+        Stream<Borrow> borrows = entityManager.createQuery(
+                        "select b from Borrow b join fetch b.user join fetch b.book order by b.id", Borrow.class)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream();
+
+        write(borrows, format, out, BORROW_COLUMNS, borrow -> BorrowDto.builder()
+                .id(borrow.getId())
+                .userId(borrow.getUser().getId())
+                .username(borrow.getUser().getUsername())
+                .bookId(borrow.getBook().getId())
+                .bookTitle(borrow.getBook().getTitle())
+                .borrowedAt(borrow.getBorrowedAt())
+                .returnedAt(borrow.getReturnedAt())
+                .build(), this::borrowRow);
+    }
+
+    // A full dump would push every hot row out of the bounded second-level cache regions
+    private void bypassSecondLevelCache() {
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+    }
+
+    private <E, D> void write(Stream<E> rows, ExportFormat format, OutputStream out, List<String> header,
+                              Function<E, D> toDto, Function<D, List<Object>> toCsvRow) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        try (rows) {
+            SequenceWriter json = null;
+            if (format == ExportFormat.NDJSON) {
+                json = objectMapper.writer().withRootValueSeparator("\n").writeValues(writer);
+            } else {
+                writeCsvLine(writer, List.<Object>copyOf(header));
+            }
+
+            long count = 0;
+            Iterator<E> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                D dto = toDto.apply(iterator.next());
+                if (json != null) {
+                    json.write(dto);
+                } else {
+                    writeCsvLine(writer, toCsvRow.apply(dto));
+                }
+                if (++count % clearInterval == 0) {
+                    entityManager.clear();
+                    writer.flush();
+                }
+            }
+
+            if (json != null) {
+                json.flush();
+                if (count > 0) {
+                    writer.write('\n');
+                }
+            }
+            writer.flush();
+        }
+    }
+
+    private List<Object> bookRow(BookDto book) {
+        return Arrays.asList(book.getId(), book.getTitle(), book.getAuthor(), book.getTotalCopies(), book.getAvailableCopies(),
+                book.getAvailable());
+    }
+
+    private List<Object> borrowRow(BorrowDto borrow) {
+        return Arrays.asList(borrow.getId(), borrow.getUserId(), borrow.getUsername(), borrow.getBookId(),
+                borrow.getBookTitle(), borrow.getBorrowedAt(), borrow.getReturnedAt());
+    }
+
+    private static void writeCsvLine(Writer writer, List<Object> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value != null) {
+                writer.write(escapeCsv(value.toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,245 @@
+package com.library.management.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.management.cache.CatalogVersion;
+import com.library.management.dto.BookDto;
+import com.library.management.dto.ExportFormat;
+import com.library.management.dto.ImportResult;
+import com.library.management.entity.Book;
+import com.library.management.exception.BadRequestException;
+import com.library.management.search.BookSearchIndex;
+import com.library.management.search.BookSuggester;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Loads books from a streamed CSV or NDJSON body. Rows are parsed one at a time and persisted in
+ * transactions of {@code app.import.commit-interval} rows; inside each transaction the persistence
+ * context is flushed and cleared every {@code app.import.flush-interval} rows, so Hibernate sends
+ * the inserts as JDBC batches and memory use does not grow with the size of the file.
+ * Rows that fail validation are counted and skipped; a body that cannot be parsed stops the import
+ * after the rows read so far.
+ */
+@Slf4j
+@Service
+public class ImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 20;
+    private static final int MAX_COLUMN_LENGTH = 255;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookSuggester bookSuggester;
+    private final CatalogVersion catalogVersion;
+    private final int flushInterval;
+    private final int commitInterval;
+
+    public ImportService(ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager,
+                         BookSearchIndex bookSearchIndex,
+                         BookSuggester bookSuggester,
+                         CatalogVersion catalogVersion,
+                         @Value("${app.import.flush-interval:1000}") int flushInterval,
+                         @Value("${app.import.commit-interval:10000}") int commitInterval) {
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bookSearchIndex = bookSearchIndex;
+        this.bookSuggester = bookSuggester;
+        this.catalogVersion = catalogVersion;
+        this.flushInterval = flushInterval;
+        this.commitInterval = commitInterval;
+    }
+
+    public ImportResult importBooks(ExportFormat format, InputStream in) throws IOException {
+        long started = System.nanoTime();
+        Reader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        RowSource rows = format == ExportFormat.CSV ? csvRows(reader) : ndjsonRows(reader);
+
+        long imported = 0;
+        long rejected = 0;
+        long row = 0;
+        List<String> errors = new ArrayList<>();
+        List<Book> chunk = new ArrayList<>(commitInterval);
+        try {
+            BookDto dto;
+            while (true) {
+                row++;
+                try {
+                    dto = rows.next();
+                } catch (IOException | RuntimeException e) {
+                    addError(errors, row, "could not be parsed, import stopped: " + e.getMessage());
+                    break;
+                }
+                if (dto == null) {
+                    break;
+                }
+
+                String problem = validate(dto);
+                if (problem != null) {
+                    rejected++;
+                    addError(errors, row, problem);
+                    continue;
+                }
+                chunk.add(Book.builder()
+                        .title(dto.getTitle())
+                        .author(dto.getAuthor())
+                        .totalCopies(copies(dto))
+                        .availableCopies(copies(dto))
+                        .build());
+                if (chunk.size() == commitInterval) {
+                    imported += persist(chunk);
+                }
+            }
+            imported += persist(chunk);
+        } finally {
+            if (imported > 0) {
+                bookSuggester.scheduleRebuild();
+                catalogVersion.bump();
+            }
+        }
+
+        long elapsedNanos = Math.max(1, System.nanoTime() - started);
+        double rowsPerSecond = imported * 1_000_000_000.0 / elapsedNanos;
+        log.info("Imported {} books ({} rejected) in {} ms, {} rows/s",
+                imported, rejected, elapsedNanos / 1_000_000, Math.round(rowsPerSecond));
+
+        return ImportResult.builder()
+                .imported(imported)
+                .rejected(rejected)
+                .elapsedMillis(elapsedNanos / 1_000_000)
+                .rowsPerSecond(rowsPerSecond)
+                .errors(errors)
+                .build();
+    }
+
+    private int persist(List<Book> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            // Imported rows are not read back soon, they would only push hot books out of the second-level cache
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+            for (int i = 0; i < chunk.size(); i++) {
+                entityManager.persist(chunk.get(i));
+                if ((i + 1) % flushInterval == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        });
+        // Only committed rows go into the search index
+        chunk.forEach(bookSearchIndex::add);
+        int persisted = chunk.size();
+        chunk.clear();
+        return persisted;
+    }
+
+    private static String validate(BookDto dto) {
+        if (dto.getTitle() == null || dto.getTitle().isBlank()) {
+            return "Title is required";
+        }
+        if (dto.getAuthor() == null || dto.getAuthor().isBlank()) {
+            return "Author is required";
+        }
+        if (dto.getTitle().length() > MAX_COLUMN_LENGTH || dto.getAuthor().length() > MAX_COLUMN_LENGTH) {
+            return "Title and author must be at most " + MAX_COLUMN_LENGTH + " characters";
+        }
+        if (dto.getTotalCopies() != null && dto.getTotalCopies() < 1) {
+            return "totalCopies must be a positive number";
+        }
+        return null;
+    }
+
+    private static int copies(BookDto dto) {
+        return dto.getTotalCopies() == null ? 1 : dto.getTotalCopies();
+    }
+
+    private static void addError(List<String> errors, long row, String message) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add("Row " + row + ": " + message);
+        }
+    }
+
+    private RowSource ndjsonRows(Reader reader) throws IOException {
+        MappingIterator<BookDto> iterator = objectMapper.readerFor(BookDto.class).readValues(reader);
+        return () -> iterator.hasNextValue() ? iterator.nextValue() : null;
+    }
+
+    /**
+     * The header row names the columns; title and author are required, totalCopies is optional
+     * and any other column (such as the id and availability columns of an export) is ignored.
+     */
+    private RowSource csvRows(Reader reader) throws IOException {
+        CsvRecordReader records = new CsvRecordReader(reader);
+        List<String> header = records.next();
+        if (header == null) {
+            return () -> null;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        Integer title = columns.get("title");
+        Integer author = columns.get("author");
+        Integer copies = columns.get("totalcopies");
+        if (title == null || author == null) {
+            throw new BadRequestException("CSV header must contain title and author columns");
+        }
+
+        return () -> {
+            List<String> record = records.next();
+            if (record == null) {
+                return null;
+            }
+            return BookDto.builder()
+                    .title(column(record, title))
+                    .author(column(record, author))
+                    .totalCopies(parseCopies(column(record, copies)))
+                    .build();
+        };
+    }
+
+    private static Integer parseCopies(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return 0; // rejected by validate()
+        }
+    }
+
+    private static String column(List<String> record, Integer index) {
+        return index == null || index >= record.size() ? null : record.get(index);
+    }
+
+    @FunctionalInterface
+    private interface RowSource {
+        BookDto next() throws IOException;
+    }
+}
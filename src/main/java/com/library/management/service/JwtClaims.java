@@ -0,0 +1,49 @@
+package com.library.management.service;
+
+import com.library.management.entity.User;
+import io.jsonwebtoken.Claims;
+import lombok.Value;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Immutable result of a single signature-checked parse of a JWT. Everything callers need from a
+ * token is read from here instead of parsing the token again.
+ */
+@Value
+public class JwtClaims {
+
+    String subject;
+    Date issuedAt;
+    Date expiration;
+    Map<String, Object> claims;
+
+    static JwtClaims from(Claims claims) {
+        return new JwtClaims(
+                claims.getSubject(),
+                claims.getIssuedAt(),
+                claims.getExpiration(),
+                Map.copyOf(claims)
+        );
+    }
+
+    public Long getUserId() {
+        Object userId = claims.get(JwtService.USER_ID_CLAIM);
+        return userId instanceof Number number ? number.longValue() : null;
+    }
+
+    public User.Role getRole() {
+        Object role = claims.get(JwtService.ROLE_CLAIM);
+        return role instanceof String name ? User.Role.valueOf(name) : null;
+    }
+
+    public Integer getTokenEpoch() {
+        Object epoch = claims.get(JwtService.TOKEN_EPOCH_CLAIM);
+        return epoch instanceof Number number ? number.intValue() : null;
+    }
+
+    public boolean isExpired() {
+        return expiration.before(new Date());
+    }
+}
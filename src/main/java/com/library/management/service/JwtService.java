@@ -1,22 +1,31 @@
 package com.library.management.service;
 
-import io.jsonwebtoken.Claims;
+import com.library.management.entity.User;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.concurrent.TimeUnit;
 
 @Service
-public class JwtService {
+public class JwtService implements MeterBinder {
+
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLE_CLAIM = "role";
+    static final String TOKEN_EPOCH_CLAIM = "epoch";
 
     @Value("${app.jwt.secret}")
     private String jwtSecret;
@@ -27,60 +36,99 @@ public class JwtService {
     @Value("${app.jwt.refresh-expiration}")
     private long refreshExpiration;
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
+    // Both are thread-safe, so they are built once instead of on every sign/parse
+    private Key signInKey;
+    private JwtParser jwtParser;
+    private volatile Timer verifyTimer;
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    @PostConstruct
+    void init() {
+        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
+        signInKey = Keys.hmacShaKeyFor(keyBytes);
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signInKey)
+                .build();
     }
 
-    public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+    /**
+     * Verifies the signature and parses the token exactly once. Throws a
+     * {@link io.jsonwebtoken.JwtException} if the token is malformed, tampered with or expired.
+     */
+    public JwtClaims parseToken(String token) {
+        long started = System.nanoTime();
+        try {
+            return JwtClaims.from(jwtParser.parseClaimsJws(token).getBody());
+        } finally {
+            Timer timer = verifyTimer;
+            if (timer != null) {
+                timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+        }
     }
 
-    public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        return buildToken(extraClaims, userDetails, jwtExpiration);
+    /**
+     * Verification runs on every request with an uncached token, so it uses a pre-registered
+     * timer rather than the {@code @Timed} aspect that instruments the service classes.
+     */
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        verifyTimer = Timer.builder("jwt.verify")
+                .description("JWT signature verification and parsing")
+                .register(registry);
     }
 
-    public String generateRefreshToken(UserDetails userDetails) {
-        return buildToken(new HashMap<>(), userDetails, refreshExpiration);
+    public String extractUsername(JwtClaims claims) {
+        return claims.getSubject();
     }
 
-    private String buildToken(Map<String, Object> extraClaims, UserDetails userDetails, long expiration) {
-        return Jwts.builder()
-                .setClaims(extraClaims)
-                .setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
-                .compact();
+    /**
+     * Rebuilds the authenticated principal from the token alone, without a database lookup.
+     * Returns {@code null} for tokens issued before the id/role claims were introduced.
+     */
+    public User extractPrincipal(JwtClaims claims) {
+        if (claims.getUserId() == null || claims.getRole() == null || claims.getTokenEpoch() == null) {
+            return null;
+        }
+        return User.builder()
+                .id(claims.getUserId())
+                .username(claims.getSubject())
+                .role(claims.getRole())
+                .tokenEpoch(claims.getTokenEpoch())
+                .build();
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    public String generateToken(User user) {
+        return generateToken(new HashMap<>(), user);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public String generateToken(Map<String, Object> extraClaims, User user) {
+        return buildToken(extraClaims, user, jwtExpiration);
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public String generateRefreshToken(User user) {
+        return buildToken(new HashMap<>(), user, refreshExpiration);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private String buildToken(Map<String, Object> extraClaims, User user, long expiration) {
+        Map<String, Object> claims = new HashMap<>(extraClaims);
+        claims.put(USER_ID_CLAIM, user.getId());
+        claims.put(ROLE_CLAIM, user.getRole().name());
+        claims.put(TOKEN_EPOCH_CLAIM, user.getTokenEpoch());
+
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setClaims(claims)
+                .setSubject(user.getUsername())
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expiration))
+                .signWith(signInKey, SignatureAlgorithm.HS256)
+                .compact();
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public boolean isTokenValid(JwtClaims claims, User user) {
+        final String username = extractUsername(claims);
+        return (username.equals(user.getUsername()))
+                && user.getTokenEpoch().equals(claims.getTokenEpoch())
+                && !claims.isExpired();
     }
 }
@@ -0,0 +1,67 @@
+package com.library.management.service;
+
+import com.library.management.cache.AfterCommit;
+import com.library.management.cache.ExpiringCache;
+import com.library.management.cache.UserCache;
+import com.library.management.entity.User;
+import com.library.management.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps the current token epoch of recently active users in memory so that a token can be checked
+ * for revocation without loading the user. Entries are refreshed from the database after
+ * {@code app.jwt.epoch.cache-ttl}, which bounds how long other instances keep accepting revoked tokens.
+ */
+@Service
+public class TokenEpochService implements MeterBinder {
+
+    private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final ExpiringCache<Long, Integer> epochs;
+    private final long cacheTtl;
+
+    public TokenEpochService(UserRepository userRepository,
+                             UserCache userCache,
+                             @Value("${app.jwt.epoch.cache-size:10000}") int cacheSize,
+                             @Value("${app.jwt.epoch.cache-ttl:30000}") long cacheTtl) {
+        this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.epochs = new ExpiringCache<>(cacheSize);
+        this.cacheTtl = cacheTtl;
+    }
+
+    public boolean isCurrent(User principal) {
+        Integer current = epochs.get(principal.getId());
+        if (current == null) {
+            current = userRepository.findTokenEpochById(principal.getId()).orElse(null);
+            if (current == null) {
+                return false;
+            }
+            epochs.put(principal.getId(), current, System.currentTimeMillis() + cacheTtl);
+        }
+        return current.equals(principal.getTokenEpoch());
+    }
+
+    /**
+     * Invalidates every access and refresh token issued to the user so far.
+     */
+    @Transactional
+    public void revokeTokens(User user) {
+        userRepository.incrementTokenEpoch(user.getId());
+        // Dropped after commit: until then a concurrent request would only cache the old epoch again
+        AfterCommit.run(() -> {
+            epochs.invalidate(user.getId());
+            userCache.evict(user);
+        });
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        epochs.bindTo(registry, "tokenEpochs");
+    }
+}
@@ -1,43 +1,82 @@
 package com.library.management.service;
 
+import com.library.management.cache.UserCache;
 import com.library.management.dto.UserDto;
 import com.library.management.entity.User;
 import com.library.management.exception.ResourceNotFoundException;
 import com.library.management.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final TokenEpochService tokenEpochService;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByUsername(username)
+        return userCache.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
     }
 
-    public UserDto getUserById(Long id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+    /**
+     * Called by the authentication provider after a successful login whose stored hash was made
+     * with a different BCrypt cost than the one currently configured.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = (User) userDetails;
+        userRepository.updatePassword(user.getId(), newPassword);
+        userCache.evict(user);
 
-        return UserDto.builder()
+        return User.builder()
                 .id(user.getId())
                 .username(user.getUsername())
                 .email(user.getEmail())
+                .password(newPassword)
                 .role(user.getRole())
+                .tokenEpoch(user.getTokenEpoch())
                 .build();
     }
 
+    public UserDto getUserById(Long id) {
+        User user = userCache.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+
+        return mapToDto(user);
+    }
+
     public UserDto getUserByUsername(String username) {
-        User user = userRepository.findByUsername(username)
+        User user = userCache.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
 
+        return mapToDto(user);
+    }
+
+    @Transactional
+    public UserDto updateRole(Long id, User.Role role) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+
+        user.setRole(role);
+        userRepository.save(user);
+
+        // Tokens issued before the change still carry the old role claim
+        tokenEpochService.revokeTokens(user);
+
+        return mapToDto(user);
+    }
+
+    public UserDto mapToDto(User user) {
         return UserDto.builder()
                 .id(user.getId())
                 .username(user.getUsername())
@@ -0,0 +1,227 @@
+package com.library.management.benchmark;
+
+import com.library.management.entity.Book;
+import com.library.management.entity.Borrow;
+import com.library.management.entity.User;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.BorrowRepository;
+import com.library.management.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.LockModeType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Borrows and returns one hot book from {@code -Dborrow.threads} workers (16 by default) with half
+ * as many copies as workers, once through the conditional update the service uses and once through
+ * a {@code PESSIMISTIC_WRITE} read-check-write, and prints the borrow attempts per second of each.
+ * Both must keep every copy lent at most once. Excluded from the default build; run with
+ * {@code mvn test -Pbenchmark -Dtest=BorrowLockingBenchmark}. H2 locks rows much like InnoDB does,
+ * but the numbers that matter come from running against MySQL.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        // H2 gives up on a row lock after 1 s by default, well within reach of 16 queued workers
+        "spring.datasource.url=jdbc:h2:mem:borrowlocking;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.datasource.hikari.maximum-pool-size=32"
+})
+@ActiveProfiles("test")
+public class BorrowLockingBenchmark {
+
+    private static final String LOCKED_UPDATE = "update books set available_copies = ?, available = ? where id = ?";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowRepository borrowRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Takes or puts back one copy inside the caller's transaction; {@code take} returns false when
+     * none is left.
+     */
+    private interface Shelf {
+        boolean take(Long bookId);
+
+        void putBack(Long bookId);
+    }
+
+    private record Run(String name, long attempts, long borrowed, double seconds) {
+
+        double attemptsPerSecond() {
+            return attempts / seconds;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-20s attempts=%-8d borrowed=%-8d %10.1f attempts/s",
+                    name, attempts, borrowed, attemptsPerSecond());
+        }
+    }
+
+    @Test
+    @DisplayName("Benchmark - Conditional Update Against Pessimistic Locking")
+    void compareBorrowStrategies() throws Exception {
+        int threads = Integer.getInteger("borrow.threads", 16);
+        int copies = Math.max(1, threads / 2);
+        long millis = TimeUnit.SECONDS.toMillis(Integer.getInteger("borrow.duration", 5));
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            users.add(userRepository.save(User.builder()
+                    .username("contender-" + UUID.randomUUID())
+                    .email(UUID.randomUUID() + "@example.com")
+                    .password("password")
+                    .role(User.Role.USER)
+                    .build()));
+        }
+
+        Shelf conditional = new Shelf() {
+            @Override
+            public boolean take(Long bookId) {
+                return bookRepository.markBorrowed(bookId) > 0;
+            }
+
+            @Override
+            public void putBack(Long bookId) {
+                bookRepository.markReturned(bookId);
+            }
+        };
+        Shelf locking = new Shelf() {
+            @Override
+            public boolean take(Long bookId) {
+                Book book = entityManager.find(Book.class, bookId, LockModeType.PESSIMISTIC_WRITE);
+                if (book.getAvailableCopies() == 0) {
+                    return false;
+                }
+                int left = book.getAvailableCopies() - 1;
+                jdbcTemplate.update(LOCKED_UPDATE, left, left > 0, bookId);
+                return true;
+            }
+
+            @Override
+            public void putBack(Long bookId) {
+                Book book = entityManager.find(Book.class, bookId, LockModeType.PESSIMISTIC_WRITE);
+                jdbcTemplate.update(LOCKED_UPDATE, book.getAvailableCopies() + 1, true, bookId);
+            }
+        };
+
+        // Warm up both paths before measuring either
+        run("warmup", conditional, users, copies, millis / 2);
+        run("warmup", locking, users, copies, millis / 2);
+        Run conditionalRun = run("conditional update", conditional, users, copies, millis);
+        Run lockingRun = run("pessimistic lock", locking, users, copies, millis);
+
+        System.out.printf("== %d workers, %d copies ==%n", threads, copies);
+        System.out.println(conditionalRun);
+        System.out.println(lockingRun);
+        System.out.printf("conditional/locking throughput: %.2fx%n",
+                conditionalRun.attemptsPerSecond() / lockingRun.attemptsPerSecond());
+        assertTrue(conditionalRun.borrowed() > 0 && lockingRun.borrowed() > 0);
+    }
+
+    private Run run(String name, Shelf shelf, List<User> users, int copies, long millis) throws Exception {
+        Long bookId = bookRepository.save(Book.builder()
+                .title("Hot Book " + name)
+                .author("Author")
+                .totalCopies(copies)
+                .availableCopies(copies)
+                .build()).getId();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        ExecutorService executor = Executors.newFixedThreadPool(users.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> results = new ArrayList<>();
+        try {
+            for (User user : users) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    long attempts = 0;
+                    long borrowed = 0;
+                    long deadline = System.currentTimeMillis() + millis;
+                    while (System.currentTimeMillis() < deadline) {
+                        attempts++;
+                        Borrow borrow = transaction.execute(status -> {
+                            if (!shelf.take(bookId)) {
+                                return null;
+                            }
+                            return borrowRepository.saveAndFlush(Borrow.builder()
+                                    .user(entityManager.getReference(User.class, user.getId()))
+                                    .book(entityManager.getReference(Book.class, bookId))
+                                    .borrowedAt(LocalDateTime.now())
+                                    .openBookId(bookId)
+                                    .build());
+                        });
+                        if (borrow == null) {
+                            continue;
+                        }
+                        borrowed++;
+                        transaction.executeWithoutResult(status -> {
+                            borrow.setReturnedAt(LocalDateTime.now());
+                            borrow.setOpenBookId(null);
+                            borrowRepository.save(borrow);
+                            shelf.putBack(bookId);
+                        });
+                    }
+                    return new long[]{attempts, borrowed};
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+
+            long attempts = 0;
+            long borrowed = 0;
+            for (Future<long[]> result : results) {
+                long[] counts = result.get(millis + 60_000, TimeUnit.MILLISECONDS);
+                attempts += counts[0];
+                borrowed += counts[1];
+            }
+            double seconds = (System.nanoTime() - begin) / 1e9;
+
+            entityManagerFactory.getCache().evict(Book.class, bookId);
+            Book book = bookRepository.findById(bookId).orElseThrow();
+            // A copy lent twice, or a lost update, leaves a count that no longer adds up once all are back
+            assertEquals(copies, book.getAvailableCopies(), name + " lost or duplicated a copy");
+            assertEquals(0, jdbcTemplate.queryForObject(
+                    "select count(*) from borrows where open_book_id = ?", Integer.class, bookId));
+            return new Run(name, attempts, borrowed, seconds);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
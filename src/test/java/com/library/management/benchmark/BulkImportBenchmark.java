@@ -0,0 +1,65 @@
+package com.library.management.benchmark;
+
+import com.library.management.dto.ExportFormat;
+import com.library.management.dto.ImportResult;
+import com.library.management.service.ImportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Imports a generated CSV of {@code -Dimport.rows} books (1M by default) and prints the rate.
+ * Excluded from the default build; run with {@code mvn test -Pbenchmark -Dtest=BulkImportBenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+public class BulkImportBenchmark {
+
+    @Autowired
+    private ImportService importService;
+
+    @Test
+    @DisplayName("Benchmark - Bulk Import Rows Per Second")
+    void importGeneratedCatalog() throws Exception {
+        int rows = Integer.getInteger("import.rows", 1_000_000);
+
+        ImportResult result = importService.importBooks(ExportFormat.CSV, generatedCsv(rows));
+
+        System.out.printf("Imported %,d rows in %,d ms: %,.0f rows/s%n",
+                result.getImported(), result.getElapsedMillis(), result.getRowsPerSecond());
+        assertEquals(rows, result.getImported());
+    }
+
+    // Rows are produced on demand, so the body never exists in memory as a whole
+    private static InputStream generatedCsv(int rows) {
+        return new SequenceInputStream(new Enumeration<>() {
+            private int next = -1;
+
+            @Override
+            public boolean hasMoreElements() {
+                return next < rows;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                String line = next < 0
+                        ? "title,author,totalCopies\r\n"
+                        : "Generated Title " + next + ",Author " + (next % 5_000) + "," + (1 + next % 3) + "\r\n";
+                next++;
+                return new ByteArrayInputStream(line.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+    }
+}
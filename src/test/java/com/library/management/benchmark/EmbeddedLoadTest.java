@@ -0,0 +1,133 @@
+package com.library.management.benchmark;
+
+import com.library.management.entity.User;
+import com.library.management.repository.UserRepository;
+import com.library.management.search.BookSearchIndex;
+import com.library.management.search.BookSuggester;
+import com.library.management.service.JwtService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots the application on an in-memory database, fills it with {@link SyntheticDataGenerator}
+ * and drives browse, search, borrow/return and login traffic against it, printing throughput and
+ * latency percentiles per scenario. Afterwards it streams the book and borrow exports once each,
+ * sampling the heap, to check that export memory does not grow with the row count:
+ *
+ * <pre>
+ * mvn test -Pbenchmark -Dtest=EmbeddedLoadTest -Dload.books=5000000 -Dload.borrows=50000000 \
+ *     -DargLine=-Xmx24g
+ * </pre>
+ *
+ * Besides the data scale ({@link SyntheticDataGenerator.Scale#fromSystemProperties()}), takes
+ * {@code load.threads} (default 64), and {@code load.warmup} and {@code load.duration} in seconds
+ * (default 5 and 20).
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+public class EmbeddedLoadTest {
+
+    private static final String PASSWORD = "load-password";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookSearchIndex bookSearchIndex;
+
+    @Autowired
+    private BookSuggester bookSuggester;
+
+    @Test
+    @DisplayName("Benchmark - Scripted Scenarios Against Generated Data")
+    void runScenarios() throws Exception {
+        SyntheticDataGenerator.Scale scale = SyntheticDataGenerator.Scale.fromSystemProperties();
+        int threads = Integer.getInteger("load.threads", 64);
+        assertTrue(scale.users() >= threads, "Every worker needs a user of its own");
+        assertTrue(scale.books() - scale.openBorrows() >= threads, "Every worker needs a book of its own");
+
+        SyntheticDataGenerator.Generated data = new SyntheticDataGenerator(jdbcTemplate)
+                .generate(scale, passwordEncoder.encode(PASSWORD));
+        // The startup build saw an empty catalog
+        bookSearchIndex.build();
+        bookSuggester.scheduleRebuild();
+
+        List<String> usernames = new ArrayList<>();
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            usernames.add(SyntheticDataGenerator.Generated.username(i));
+            tokens.add(jwtService.generateToken(User.builder()
+                    .id(data.userId(i))
+                    .username(usernames.get(i))
+                    .role(User.Role.USER)
+                    .tokenEpoch(0)
+                    .build()));
+        }
+
+        String baseUrl = "http://localhost:" + port;
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        LoadDriver driver = new LoadDriver(client, threads,
+                Duration.ofSeconds(Integer.getInteger("load.warmup", 5)),
+                Duration.ofSeconds(Integer.getInteger("load.duration", 20)));
+
+        List<LoadDriver.Result> results = new ArrayList<>();
+        results.add(driver.run("browse", LoadScenarios.browse(baseUrl, tokens)));
+        results.add(driver.run("search", LoadScenarios.search(baseUrl, tokens,
+                List.of("river", "garden empire", "author 42", "night", "atlas 1", "signal mirror"))));
+        // Books past the lent-out ones, one per worker, so every borrow finds a copy
+        results.add(driver.run("borrow", LoadScenarios.borrowAndReturn(baseUrl, tokens,
+                worker -> data.bookId(scale.openBorrows() + worker))));
+        results.add(driver.run("login", LoadScenarios.login(baseUrl, usernames, PASSWORD)));
+
+        System.out.printf("== %,d books, %,d users, %,d borrows ==%n", scale.books(), scale.users(),
+                scale.borrows() + scale.openBorrows());
+        results.forEach(System.out::println);
+        results.forEach(result -> assertTrue(result.requests() > 0, result.scenario() + " made no requests"));
+
+        String adminToken = jwtService.generateToken(userRepository.findByUsername("admin").orElseThrow());
+        assertEquals(scale.books(), export(client, baseUrl + "/admin/export/books", adminToken));
+        // The borrow scenario has added returned borrows of its own
+        assertTrue(export(client, baseUrl + "/admin/export/borrows", adminToken) >= scale.borrows() + scale.openBorrows());
+    }
+
+    private static long export(HttpClient client, String url, String token) throws Exception {
+        long start = System.nanoTime();
+        try (HeapSampler heap = new HeapSampler(20)) {
+            long rows = LoadScenarios.export(client, url, token);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%-30s rows=%-10d %8.1f s %12.0f rows/s  %s%n", url.substring(url.indexOf("/admin")),
+                    rows, seconds, rows / seconds, heap.peaks());
+            return rows;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.library.management.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples heap use while one long operation runs, relative to a baseline taken after a full GC.
+ * Used heap includes garbage that has not been collected yet, so the peak left behind by the
+ * collections during the run is reported too; that one tracks what the operation keeps alive.
+ */
+final class HeapSampler implements AutoCloseable {
+
+    record Peaks(long usedBytes, long afterGcBytes) {
+
+        @Override
+        public String toString() {
+            return String.format("heap peak +%,d MB, after GC +%,d MB", usedBytes >> 20, afterGcBytes >> 20);
+        }
+    }
+
+    private final List<MemoryPoolMXBean> pools = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .toList();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "heap-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final long baselineUsed;
+    private final long baselineAfterGc;
+    private volatile long peakUsed;
+    private volatile long peakAfterGc;
+
+    HeapSampler(long intervalMillis) {
+        System.gc();
+        baselineUsed = used();
+        baselineAfterGc = afterGc();
+        peakUsed = baselineUsed;
+        peakAfterGc = baselineAfterGc;
+        executor.scheduleAtFixedRate(this::sample, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    Peaks peaks() {
+        sample();
+        return new Peaks(Math.max(0, peakUsed - baselineUsed), Math.max(0, peakAfterGc - baselineAfterGc));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private synchronized void sample() {
+        peakUsed = Math.max(peakUsed, used());
+        peakAfterGc = Math.max(peakAfterGc, afterGc());
+    }
+
+    private long used() {
+        return pools.stream().mapToLong(pool -> pool.getUsage().getUsed()).sum();
+    }
+
+    private long afterGc() {
+        long total = 0;
+        for (MemoryPoolMXBean pool : pools) {
+            MemoryUsage usage = pool.getCollectionUsage();
+            if (usage != null) {
+                total += usage.getUsed();
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,113 @@
+package com.library.management.benchmark;
+
+import com.library.management.entity.User;
+import com.library.management.service.JwtService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures what instrumentation adds per call, recording into a Prometheus registry with percentile
+ * histograms as configured in production: the pre-registered JWT verification timer, and the
+ * {@code @Timed} aspect used on the service classes around a call that does no work.
+ * Run with {@code mvn test -Pbenchmark -Dtest=InstrumentationOverheadBenchmark}.
+ */
+@Tag("benchmark")
+public class InstrumentationOverheadBenchmark {
+
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 200_000;
+
+    @Test
+    @DisplayName("Benchmark - Timer Overhead On JWT Verification")
+    void timedJwtVerification() {
+        JwtService plain = newJwtService();
+        JwtService timed = newJwtService();
+        PrometheusMeterRegistry registry = histogramRegistry();
+        timed.bindTo(registry);
+        String token = plain.generateToken(User.builder()
+                .id(1L).username("bench").role(User.Role.USER).tokenEpoch(0).build());
+
+        Runnable plainCall = () -> plain.parseToken(token);
+        Runnable timedCall = () -> timed.parseToken(token);
+        report("JWT verify", plainCall, timedCall);
+
+        assertEquals(2L * (WARMUP + ITERATIONS), registry.get("jwt.verify").timer().count());
+    }
+
+    @Test
+    @DisplayName("Benchmark - Timed Aspect Overhead Per Service Call")
+    void timedAspectPerCall() {
+        PrometheusMeterRegistry registry = histogramRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Noop());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new TimedAspect(registry));
+        Noop proxied = factory.getProxy();
+        Noop direct = new Noop();
+
+        report("@Timed service call", direct::call, proxied::call);
+
+        assertEquals(2L * (WARMUP + ITERATIONS), registry.get("library.service").timer().count());
+    }
+
+    private static void report(String name, Runnable plain, Runnable timed) {
+        double plainNanos = measure(plain);
+        double timedNanos = measure(timed);
+        // Second round so neither variant benefits from running last
+        plainNanos = Math.min(plainNanos, measure(plain));
+        timedNanos = Math.min(timedNanos, measure(timed));
+
+        System.out.printf("%s: %,.0f ns/op plain, %,.0f ns/op timed, overhead %,.0f ns/op%n",
+                name, plainNanos, timedNanos, timedNanos - plainNanos);
+    }
+
+    private static double measure(Runnable call) {
+        for (int i = 0; i < WARMUP; i++) {
+            call.run();
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.run();
+        }
+        return (System.nanoTime() - started) / (double) ITERATIONS;
+    }
+
+    private static PrometheusMeterRegistry histogramRegistry() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+            }
+        });
+        return registry;
+    }
+
+    private static JwtService newJwtService() {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "jwtSecret", "TestJWTSecretKeydgbggdngrnhrnrnhrhhnrhnrnhrnhrvguv");
+        ReflectionTestUtils.setField(service, "jwtExpiration", 86400000L);
+        ReflectionTestUtils.setField(service, "refreshExpiration", 86400000L);
+        ReflectionTestUtils.invokeMethod(service, "init");
+        return service;
+    }
+
+    @Timed("library.service")
+    public static class Noop {
+
+        public int call() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.library.management.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Drives a running instance with browse, borrow and login traffic and prints throughput and
+ * latency percentiles per scenario. Start the application once per execution mode and point this
+ * at it, e.g. for the default platform-thread mode and then for {@code virtual-threads}:
+ *
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.library.management.benchmark.LoadBenchmark \
+ *     -Dexec.args="http://localhost:8080 platform"
+ * </pre>
+ *
+ * The application must run with {@code app.rate-limit.enabled=false}, since every worker signs up
+ * and logs in from the same address.
+ *
+ * System properties: {@code load.threads} (default 200), {@code load.warmup} and
+ * {@code load.duration} in seconds (default 10 and 30), {@code load.admin.password}.
+ */
+public class LoadBenchmark {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        String label = args.length > 1 ? args[1] : "run";
+        int threads = Integer.getInteger("load.threads", 200);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("load.warmup", 10));
+        Duration duration = Duration.ofSeconds(Integer.getInteger("load.duration", 30));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        // One user per worker, since a user can only hold one copy of a book at a time
+        String password = "load-" + UUID.randomUUID();
+        List<String> usernames = new ArrayList<>();
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            String username = "load-" + UUID.randomUUID().toString().substring(0, 13);
+            JsonNode signup = post(client, baseUrl + "/auth/signup", null, JSON.createObjectNode()
+                    .put("username", username)
+                    .put("email", username + "@example.com")
+                    .put("password", password)
+                    .toString());
+            usernames.add(username);
+            tokens.add(signup.get("accessToken").asText());
+        }
+
+        String adminToken = post(client, baseUrl + "/auth/login", null, JSON.createObjectNode()
+                .put("username", "admin")
+                .put("password", System.getProperty("load.admin.password", "admin123"))
+                .toString()).get("accessToken").asText();
+        long bookId = post(client, baseUrl + "/admin/books", adminToken, JSON.createObjectNode()
+                .put("title", "Load Benchmark " + label)
+                .put("author", "Load")
+                .put("totalCopies", threads)
+                .toString()).get("id").asLong();
+
+        LoadDriver driver = new LoadDriver(client, threads, warmup, duration);
+        List<LoadDriver.Result> results = new ArrayList<>();
+
+        results.add(driver.run("browse", LoadScenarios.browse(baseUrl, tokens)));
+        results.add(driver.run("borrow", LoadScenarios.borrowAndReturn(baseUrl, tokens, worker -> bookId)));
+        results.add(driver.run("login", LoadScenarios.login(baseUrl, usernames, password)));
+
+        System.out.println("== " + label + " ==");
+        results.forEach(System.out::println);
+    }
+
+    private static JsonNode post(HttpClient client, String url, String token, String body) throws Exception {
+        HttpRequest.Builder request = LoadDriver.request(url)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(url + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return JSON.readTree(response.body());
+    }
+}
@@ -0,0 +1,127 @@
+package com.library.management.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop HTTP load generator: each worker thread sends its next request as soon as the
+ * previous one completes, for a fixed duration after a warm-up. Latencies are kept per worker and
+ * merged at the end, so recording does not add contention to the measurement.
+ */
+public class LoadDriver {
+
+    /**
+     * One iteration of a worker. Returns the request whose latency is recorded; work done before or
+     * after it (such as returning a borrowed book) is not timed.
+     */
+    @FunctionalInterface
+    public interface Step {
+        HttpResponse<?> run(HttpClient client, int worker) throws Exception;
+    }
+
+    public record Result(String scenario, int threads, long requests, long errors, double seconds,
+                         double p50Millis, double p99Millis, double maxMillis) {
+
+        public double throughput() {
+            return requests / seconds;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-10s threads=%-4d requests=%-8d errors=%-6d %10.1f req/s  p50=%8.2f ms  p99=%8.2f ms  max=%8.2f ms",
+                    scenario, threads, requests, errors, throughput(), p50Millis, p99Millis, maxMillis);
+        }
+    }
+
+    private final HttpClient client;
+    private final int threads;
+    private final Duration warmup;
+    private final Duration duration;
+
+    public LoadDriver(HttpClient client, int threads, Duration warmup, Duration duration) {
+        this.client = client;
+        this.threads = threads;
+        this.warmup = warmup;
+        this.duration = duration;
+    }
+
+    public Result run(String scenario, Step step) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long stopAt = measureFrom + duration.toNanos();
+        List<Future<long[]>> workers = new ArrayList<>();
+        long[] errors = new long[threads];
+        try {
+            for (int i = 0; i < threads; i++) {
+                int worker = i;
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (true) {
+                        long sent = System.nanoTime();
+                        if (sent >= stopAt) {
+                            break;
+                        }
+                        boolean ok;
+                        try {
+                            HttpResponse<?> response = step.run(client, worker);
+                            ok = response.statusCode() < 400;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        long elapsed = System.nanoTime() - sent;
+                        if (sent < measureFrom) {
+                            continue;
+                        }
+                        if (!ok) {
+                            errors[worker]++;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = elapsed;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+            start.countDown();
+
+            List<long[]> perWorker = new ArrayList<>();
+            for (Future<long[]> worker : workers) {
+                perWorker.add(worker.get());
+            }
+            long[] all = perWorker.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            return new Result(scenario, threads, all.length, Arrays.stream(errors).sum(),
+                    duration.toNanos() / 1e9, percentile(all, 0.50), percentile(all, 0.99),
+                    all.length == 0 ? 0 : all[all.length - 1] / 1e6);
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    public static HttpRequest.Builder request(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30));
+    }
+
+    static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+}
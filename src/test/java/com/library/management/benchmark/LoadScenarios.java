@@ -0,0 +1,118 @@
+package com.library.management.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+/**
+ * Scripted client behaviour shared by the load runs. Each step is one user action; worker
+ * {@code i} acts as the user whose token or username is at index {@code i}.
+ */
+final class LoadScenarios {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final int BROWSE_DEPTH = 5;
+
+    private LoadScenarios() {
+    }
+
+    /**
+     * Pages through the available books with the cursor from the previous response, starting over
+     * after {@value #BROWSE_DEPTH} pages.
+     */
+    static LoadDriver.Step browse(String baseUrl, List<String> tokens) {
+        String[] cursors = new String[tokens.size()];
+        int[] depth = new int[tokens.size()];
+        return (http, worker) -> {
+            String url = baseUrl + "/books?size=20";
+            if (cursors[worker] != null) {
+                url += "&cursor=" + URLEncoder.encode(cursors[worker], StandardCharsets.UTF_8);
+            }
+            HttpResponse<String> response = http.send(LoadDriver.request(url)
+                            .header("Authorization", "Bearer " + tokens.get(worker))
+                            .GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            String next = null;
+            if (response.statusCode() == 200 && ++depth[worker] < BROWSE_DEPTH) {
+                JsonNode cursor = JSON.readTree(response.body()).path("nextCursor");
+                next = cursor.isTextual() ? cursor.asText() : null;
+            }
+            if (next == null) {
+                depth[worker] = 0;
+            }
+            cursors[worker] = next;
+            return response;
+        };
+    }
+
+    static LoadDriver.Step search(String baseUrl, List<String> tokens, List<String> queries) {
+        int[] next = new int[tokens.size()];
+        return (http, worker) -> {
+            String query = queries.get((worker + next[worker]++) % queries.size());
+            return http.send(LoadDriver.request(baseUrl + "/books?query=" + URLEncoder.encode(query, StandardCharsets.UTF_8))
+                            .header("Authorization", "Bearer " + tokens.get(worker))
+                            .GET().build(),
+                    HttpResponse.BodyHandlers.discarding());
+        };
+    }
+
+    /**
+     * Borrows the worker's book and returns it again; only the borrow is timed.
+     */
+    static LoadDriver.Step borrowAndReturn(String baseUrl, List<String> tokens, IntFunction<Long> bookOfWorker) {
+        return (http, worker) -> {
+            String auth = "Bearer " + tokens.get(worker);
+            long bookId = bookOfWorker.apply(worker);
+            HttpResponse<Void> borrowed = http.send(
+                    LoadDriver.request(baseUrl + "/books/" + bookId + "/borrow")
+                            .header("Authorization", auth)
+                            .POST(HttpRequest.BodyPublishers.noBody()).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            http.send(LoadDriver.request(baseUrl + "/books/" + bookId + "/return")
+                            .header("Authorization", auth)
+                            .POST(HttpRequest.BodyPublishers.noBody()).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            return borrowed;
+        };
+    }
+
+    static LoadDriver.Step login(String baseUrl, List<String> usernames, String password) {
+        return (http, worker) -> http.send(
+                LoadDriver.request(baseUrl + "/auth/login")
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(JSON.createObjectNode()
+                                .put("username", usernames.get(worker))
+                                .put("password", password)
+                                .toString()))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+    }
+
+    /**
+     * Streams one NDJSON export and returns how many rows arrived. Lines are counted as they come
+     * in, so the client never holds the body.
+     */
+    static long export(HttpClient http, String url, String token) throws IOException, InterruptedException {
+        // No request timeout: it would also cover reading a body that takes minutes at full scale
+        HttpResponse<Stream<String>> response = http.send(HttpRequest.newBuilder(URI.create(url))
+                        .header("Authorization", "Bearer " + token)
+                        .GET().build(),
+                HttpResponse.BodyHandlers.ofLines());
+        try (Stream<String> lines = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Export " + url + " answered " + response.statusCode());
+            }
+            return lines.count();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.library.management.benchmark;
+
+import com.library.management.entity.Book;
+import com.library.management.entity.User;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.UserRepository;
+import com.library.management.service.JwtService;
+import com.library.management.support.SqlStatementCounter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Clients that poll {@code GET /books} and {@code GET /books/history} every round, with one borrow
+ * or return every {@code -Dpoll.change-every} rounds, once refetching in full and once revalidating
+ * with If-None-Match. Prints the SQL statements and time each workload costs.
+ * Run with {@code mvn test -Pbenchmark -Dtest=PollingLoadBenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class PollingLoadBenchmark {
+
+    private static final String[] PATHS = {"/books", "/books/history"};
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Test
+    @DisplayName("Benchmark - Database Load Of Polling With And Without ETags")
+    void pollingWithAndWithoutEtags() throws Exception {
+        int clients = Integer.getInteger("poll.clients", 50);
+        int rounds = Integer.getInteger("poll.rounds", 100);
+        int changeEvery = Integer.getInteger("poll.change-every", 10);
+
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            tokens.add(jwtService.generateToken(userRepository.save(User.builder()
+                    .username("poll-" + UUID.randomUUID())
+                    .email(UUID.randomUUID() + "@example.com")
+                    .password("password")
+                    .role(User.Role.USER)
+                    .build())));
+        }
+        Book book = bookRepository.save(Book.builder()
+                .title("Polled Book").author("Polled Author").totalCopies(clients).availableCopies(clients).build());
+
+        Result full = run("full refetch", tokens, rounds, changeEvery, book.getId(), false);
+        Result conditional = run("If-None-Match", tokens, rounds, changeEvery, book.getId(), true);
+
+        System.out.println(full);
+        System.out.println(conditional);
+        System.out.printf("Catalog and borrow statements reduced by %.1f%%%n",
+                100.0 * (full.catalogStatements - conditional.catalogStatements) / Math.max(1, full.catalogStatements));
+        assertTrue(conditional.catalogStatements < full.catalogStatements);
+    }
+
+    private Result run(String name, List<String> tokens, int rounds, int changeEvery, Long bookId,
+                       boolean conditional) throws Exception {
+        Map<String, String> etags = new HashMap<>();
+        boolean[] borrowed = new boolean[tokens.size()];
+        long polls = 0;
+        long notModified = 0;
+        long statements = 0;
+        long catalogStatements = 0;
+        long started = System.nanoTime();
+
+        for (int round = 0; round < rounds; round++) {
+            if (round % changeEvery == changeEvery - 1) {
+                int client = round / changeEvery % tokens.size();
+                String action = borrowed[client] ? "/return" : "/borrow";
+                mockMvc.perform(authorized(post("/books/" + bookId + action), tokens.get(client)));
+                borrowed[client] = !borrowed[client];
+            }
+
+            SqlStatementCounter.reset();
+            for (int client = 0; client < tokens.size(); client++) {
+                for (String path : PATHS) {
+                    String key = client + path;
+                    MockHttpServletRequestBuilder request = authorized(get(path), tokens.get(client));
+                    if (conditional && etags.containsKey(key)) {
+                        request.header(HttpHeaders.IF_NONE_MATCH, etags.get(key));
+                    }
+                    MockHttpServletResponse response = mockMvc.perform(request).andReturn().getResponse();
+                    etags.put(key, response.getHeader(HttpHeaders.ETAG));
+                    polls++;
+                    if (response.getStatus() == 304) {
+                        notModified++;
+                    }
+                }
+            }
+            // Only the polls are counted, not the borrows and returns between them
+            List<String> executed = SqlStatementCounter.statements();
+            statements += executed.size();
+            catalogStatements += executed.stream().filter(sql -> sql.matches("(?s).*\\b(books|borrows)\\b.*")).count();
+        }
+
+        return new Result(name, polls, notModified, statements, catalogStatements, System.nanoTime() - started);
+    }
+
+    private static MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request, String token) {
+        return request.header("Authorization", "Bearer " + token);
+    }
+
+    private record Result(String name, long polls, long notModified, long statements, long catalogStatements,
+                          long elapsedNanos) {
+
+        @Override
+        public String toString() {
+            return String.format("%-14s %,d polls, %,d not modified, %,d SQL statements (%,d on books/borrows), "
+                            + "%,.0f us/poll",
+                    name, polls, notModified, statements, catalogStatements, elapsedNanos / 1000.0 / polls);
+        }
+    }
+}
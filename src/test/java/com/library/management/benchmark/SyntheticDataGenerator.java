@@ -0,0 +1,165 @@
+package com.library.management.benchmark;
+
+import com.library.management.entity.Book;
+import com.library.management.entity.Borrow;
+import com.library.management.entity.User;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Fills {@code books}, {@code users} and {@code borrows} with generated rows through JDBC batch
+ * inserts. Ids are reserved from the table-backed generators first, so the application can keep
+ * inserting rows of its own afterwards.
+ *
+ * <p>The first {@code openBorrows} books are each lent to one user, with their copy counts
+ * adjusted to match; all other borrows are returned. Every user has the same password.
+ */
+public class SyntheticDataGenerator {
+
+    public record Scale(int books, int users, long borrows, int openBorrows) {
+
+        /**
+         * Reads {@code load.books}, {@code load.users}, {@code load.borrows} and {@code load.open-borrows}.
+         */
+        public static Scale fromSystemProperties() {
+            int books = Integer.getInteger("load.books", 200_000);
+            int users = Integer.getInteger("load.users", 20_000);
+            long borrows = Long.getLong("load.borrows", 1_000_000L);
+            int openBorrows = Integer.getInteger("load.open-borrows", Math.min(books / 10, 10_000));
+            return new Scale(books, users, borrows, openBorrows);
+        }
+    }
+
+    /**
+     * Ids of the first generated book and user; generated rows use consecutive ids from there.
+     */
+    public record Generated(Scale scale, long firstBookId, long firstUserId) {
+
+        public long bookId(int index) {
+            return firstBookId + index;
+        }
+
+        public long userId(int index) {
+            return firstUserId + index;
+        }
+
+        public static String username(int index) {
+            return "load-user-" + index;
+        }
+    }
+
+    private static final int BATCH_SIZE = 10_000;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 9, 0);
+    private static final String[] TITLE_WORDS = {
+            "Silent", "River", "Garden", "Empire", "Shadow", "Winter", "Glass", "Harbor", "Machine", "Forest",
+            "Letters", "Kingdom", "Ocean", "Night", "Atlas", "Theory", "Journey", "Stone", "Mirror", "Signal"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Generated generate(Scale scale, String passwordHash) {
+        long firstBookId = reserveIds("books", Book.ID_ALLOCATION_SIZE, scale.books());
+        long firstUserId = reserveIds("users", User.ID_ALLOCATION_SIZE, scale.users());
+        long firstBorrowId = reserveIds("borrows", Borrow.ID_ALLOCATION_SIZE, scale.borrows() + scale.openBorrows());
+
+        timed("books", scale.books(), () -> insert(
+                "insert into books (id, title, author, total_copies, available_copies, available) values (?, ?, ?, ?, ?, ?)",
+                scale.books(), (ps, i) -> {
+                    int copies = 1 + (int) (i % 3);
+                    int available = i < scale.openBorrows() ? copies - 1 : copies;
+                    ps.setLong(1, firstBookId + i);
+                    ps.setString(2, TITLE_WORDS[(int) (i % TITLE_WORDS.length)] + " " + TITLE_WORDS[(int) ((i / 7) % TITLE_WORDS.length)] + " " + i);
+                    ps.setString(3, "Author " + (i % 5_000));
+                    ps.setInt(4, copies);
+                    ps.setInt(5, available);
+                    ps.setBoolean(6, available > 0);
+                }));
+
+        timed("users", scale.users(), () -> insert(
+                "insert into users (id, username, email, password, role, token_epoch) values (?, ?, ?, ?, ?, 0)",
+                scale.users(), (ps, i) -> {
+                    ps.setLong(1, firstUserId + i);
+                    ps.setString(2, Generated.username((int) i));
+                    ps.setString(3, Generated.username((int) i) + "@example.com");
+                    ps.setString(4, passwordHash);
+                    ps.setString(5, User.Role.USER.name());
+                }));
+
+        timed("borrows", scale.borrows() + scale.openBorrows(), () -> {
+            insert("insert into borrows (id, user_id, book_id, borrowed_at, returned_at, open_book_id) values (?, ?, ?, ?, ?, null)",
+                    scale.borrows(), (ps, i) -> {
+                        LocalDateTime borrowedAt = EPOCH.plusMinutes(i % 500_000);
+                        ps.setLong(1, firstBorrowId + i);
+                        ps.setLong(2, firstUserId + i % scale.users());
+                        // Spread over the catalog by a stride that is coprime to most catalog sizes
+                        ps.setLong(3, firstBookId + (i * 7_919) % scale.books());
+                        ps.setTimestamp(4, Timestamp.valueOf(borrowedAt));
+                        ps.setTimestamp(5, Timestamp.valueOf(borrowedAt.plusDays(14)));
+                    });
+            insert("insert into borrows (id, user_id, book_id, borrowed_at, returned_at, open_book_id) values (?, ?, ?, ?, null, ?)",
+                    scale.openBorrows(), (ps, i) -> {
+                        ps.setLong(1, firstBorrowId + scale.borrows() + i);
+                        ps.setLong(2, firstUserId + i % scale.users());
+                        ps.setLong(3, firstBookId + i);
+                        ps.setTimestamp(4, Timestamp.valueOf(EPOCH.plusDays(400)));
+                        ps.setLong(5, firstBookId + i);
+                    });
+        });
+
+        return new Generated(scale, firstBookId, firstUserId);
+    }
+
+    /**
+     * Moves the generator past {@code count} ids and returns the first of them. The pooled
+     * optimizer hands out ids up to the stored value minus one block, so the reserved range starts
+     * a block above the current value and the stored value ends a block above the range.
+     */
+    private long reserveIds(String sequenceName, int allocationSize, long count) {
+        List<Long> current = jdbcTemplate.queryForList(
+                "select next_val from id_sequences where sequence_name = ?", Long.class, sequenceName);
+        long first = (current.isEmpty() ? 0 : current.get(0)) + allocationSize + 1;
+        long nextValue = first + count + allocationSize;
+        if (current.isEmpty()) {
+            jdbcTemplate.update("insert into id_sequences (sequence_name, next_val) values (?, ?)", sequenceName, nextValue);
+        } else {
+            jdbcTemplate.update("update id_sequences set next_val = ? where sequence_name = ?", nextValue, sequenceName);
+        }
+        return first;
+    }
+
+    private void insert(String sql, long rows, RowWriter writer) {
+        for (long from = 0; from < rows; from += BATCH_SIZE) {
+            long start = from;
+            int size = (int) Math.min(BATCH_SIZE, rows - from);
+            jdbcTemplate.execute(sql, (PreparedStatement ps) -> {
+                for (int i = 0; i < size; i++) {
+                    writer.write(ps, start + i);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                return null;
+            });
+        }
+    }
+
+    private static void timed(String table, long rows, Runnable work) {
+        long started = System.nanoTime();
+        work.run();
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("Generated %,d %s in %.1f s (%,.0f rows/s)%n", rows, table, seconds, rows / seconds);
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(PreparedStatement ps, long index) throws SQLException;
+    }
+}
@@ -0,0 +1,108 @@
+package com.library.management.cache;
+
+import com.library.management.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AvailabilityCounterTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private AvailabilityCounter availabilityCounter;
+
+    @BeforeEach
+    void setUp() {
+        availabilityCounter = new AvailabilityCounter(bookRepository, 100, 4, 60_000);
+    }
+
+    @Test
+    @DisplayName("Happy Path - Copies Are Handed Out Until None Are Left")
+    void whenAllCopiesAcquired_thenFurtherBorrowsAreRejectedLocally() {
+        when(bookRepository.findAvailableCopiesById(1L)).thenReturn(Optional.of(3));
+
+        assertTrue(availabilityCounter.tryAcquire(1L));
+        assertTrue(availabilityCounter.tryAcquire(1L));
+        assertTrue(availabilityCounter.tryAcquire(1L));
+        assertFalse(availabilityCounter.tryAcquire(1L));
+
+        assertEquals(1, availabilityCounter.rejectionCount());
+        verify(bookRepository, times(1)).findAvailableCopiesById(1L);
+    }
+
+    @Test
+    @DisplayName("Happy Path - Returned Copy Can Be Borrowed Again")
+    void whenCopyReleased_thenItCanBeAcquiredAgain() {
+        when(bookRepository.findAvailableCopiesById(1L)).thenReturn(Optional.of(1));
+
+        assertTrue(availabilityCounter.tryAcquire(1L));
+        availabilityCounter.release(1L);
+
+        assertEquals(1, availabilityCounter.availableCopies(1L));
+        assertTrue(availabilityCounter.tryAcquire(1L));
+    }
+
+    @Test
+    @DisplayName("Happy Path - Invalidated Counter Is Reloaded From The Database")
+    void whenCounterInvalidated_thenNextBorrowReloads() {
+        when(bookRepository.findAvailableCopiesById(1L)).thenReturn(Optional.of(0)).thenReturn(Optional.of(2));
+
+        assertFalse(availabilityCounter.tryAcquire(1L));
+        availabilityCounter.invalidate(1L);
+
+        assertTrue(availabilityCounter.tryAcquire(1L));
+        assertEquals(1, availabilityCounter.availableCopies(1L));
+    }
+
+    @Test
+    @DisplayName("Unhappy Path - Unknown Book Is Not Acquired")
+    void whenBookDoesNotExist_thenAcquireFails() {
+        when(bookRepository.findAvailableCopiesById(99L)).thenReturn(Optional.empty());
+
+        assertFalse(availabilityCounter.tryAcquire(99L));
+        assertNull(availabilityCounter.availableCopies(99L));
+    }
+
+    @Test
+    @DisplayName("Happy Path - Concurrent Borrowers Never Take More Copies Than Exist")
+    void whenManyThreadsAcquire_thenExactlyTheAvailableCopiesAreGranted() throws Exception {
+        when(bookRepository.findAvailableCopiesById(1L)).thenReturn(Optional.of(50));
+        assertTrue(availabilityCounter.tryAcquire(1L));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger(1);
+        for (int i = 0; i < 8; i++) {
+            executor.submit(() -> {
+                start.await();
+                for (int attempt = 0; attempt < 100; attempt++) {
+                    if (availabilityCounter.tryAcquire(1L)) {
+                        granted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(50, granted.get());
+        assertEquals(0, availabilityCounter.availableCopies(1L));
+    }
+}
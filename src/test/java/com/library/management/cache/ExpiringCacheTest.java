@@ -0,0 +1,51 @@
+package com.library.management.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExpiringCacheTest {
+
+    @Test
+    @DisplayName("Happy Path - Cached Value Is Returned Until It Expires")
+    void whenValueCached_thenHitUntilExpiry() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10);
+        cache.put("token", "user", System.currentTimeMillis() + 60_000);
+
+        assertEquals("user", cache.get("token"));
+        assertNull(cache.get("other"));
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    @DisplayName("Unhappy Path - Expired Entry Is Treated As Miss")
+    void whenEntryExpired_thenMissAndEviction() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10);
+        cache.put("token", "user", System.currentTimeMillis() + 20);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            while (cache.get("token") != null) {
+                Thread.sleep(5);
+            }
+        });
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.evictionCount());
+    }
+
+    @Test
+    @DisplayName("Happy Path - Cache Never Grows Past Its Bound")
+    void whenCacheFull_thenEntriesAreEvicted() {
+        ExpiringCache<Integer, Integer> cache = new ExpiringCache<>(100);
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        for (int i = 0; i < 1_000; i++) {
+            cache.put(i, i, expiresAt);
+        }
+
+        assertTrue(cache.size() <= 100);
+        assertEquals(900, cache.evictionCount());
+    }
+}
@@ -0,0 +1,76 @@
+package com.library.management.cache;
+
+import com.library.management.entity.User;
+import com.library.management.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserCache userCache;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userCache = new UserCache(userRepository, 100, 60_000);
+
+        user = User.builder()
+                .id(1L)
+                .username("testuser")
+                .password("password")
+                .role(User.Role.USER)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Happy Path - Repeated Lookups Hit The Cache")
+    void whenUserLookedUpTwice_thenRepositoryIsQueriedOnce() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+
+        User first = userCache.findByUsername("testuser").orElseThrow();
+        User second = userCache.findByUsername("testuser").orElseThrow();
+        User byId = userCache.findById(1L).orElseThrow();
+
+        assertSame(first, second);
+        assertSame(first, byId);
+        assertNull(first.getBorrows());
+        verify(userRepository, times(1)).findByUsername("testuser");
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Happy Path - Evicted User Is Reloaded")
+    void whenUserEvicted_thenRepositoryIsQueriedAgain() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+
+        userCache.findByUsername("testuser");
+        userCache.evict(user);
+        userCache.findByUsername("testuser");
+
+        verify(userRepository, times(2)).findByUsername("testuser");
+    }
+
+    @Test
+    @DisplayName("Unhappy Path - Unknown User Is Not Cached")
+    void whenUserMissing_thenEmptyIsReturned() {
+        when(userRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertTrue(userCache.findById(99L).isEmpty());
+        assertTrue(userCache.findById(99L).isEmpty());
+
+        verify(userRepository, times(2)).findById(99L);
+    }
+}
@@ -0,0 +1,113 @@
+package com.library.management.config;
+
+import com.library.management.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedPasswordEncoderTest {
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.destroy();
+    }
+
+    @Test
+    @DisplayName("Happy Path - Hashes Are Produced And Verified On The Hashing Pool")
+    void whenPasswordEncoded_thenItMatches() {
+        encoder = new BoundedPasswordEncoder(PasswordEncoderConfig.bcrypt(4), 2, 4, 5_000, 2);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        encoder.bindTo(registry);
+
+        String hash = encoder.encode("secret");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertEquals(1, registry.get("password.hash.duration").tag("operation", "encode").timer().count());
+        assertEquals(2, registry.get("password.hash.duration").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    @DisplayName("Unhappy Path - Requests Beyond The Queue Are Rejected Immediately")
+    void whenPoolSaturated_thenFurtherRequestsAreRejected() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        encoder = new BoundedPasswordEncoder(blocking, 1, 1, 10_000, 3);
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            // One call occupies the only worker, the next one fills the queue
+            callers.submit(() -> encoder.matches("a", "hash"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            callers.submit(() -> encoder.matches("b", "hash"));
+            while (encoder.queueSize() < 1) {
+                Thread.onSpinWait();
+            }
+
+            ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class,
+                    () -> encoder.matches("c", "hash"));
+            assertEquals(3, ex.getRetryAfterSeconds());
+            assertEquals(1, encoder.rejectionCount());
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Unhappy Path - Callers Give Up After The Timeout")
+    void whenHashingTakesTooLong_thenCallerIsRejected() {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slow = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "never";
+            }
+        };
+        encoder = new BoundedPasswordEncoder(slow, 1, 1, 50, 2);
+
+        assertThrows(ServiceUnavailableException.class, () -> encoder.encode("secret"));
+        assertEquals(1, encoder.rejectionCount());
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Happy Path - Hashes With A Different Cost Are Upgraded")
+    void whenStoredCostDiffersFromConfiguredCost_thenEncodingIsUpgraded() {
+        encoder = new BoundedPasswordEncoder(PasswordEncoderConfig.bcrypt(5), 1, 1, 5_000, 2);
+
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("secret")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret")));
+    }
+}
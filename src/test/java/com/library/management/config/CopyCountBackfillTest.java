@@ -0,0 +1,47 @@
+package com.library.management.config;
+
+import com.library.management.entity.Book;
+import com.library.management.repository.BookRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class CopyCountBackfillTest {
+
+    @Autowired
+    private CopyCountBackfill copyCountBackfill;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Happy Path - Lent Legacy Book Gets No Available Copy, Others Are Left Alone")
+    void whenLegacyRowsDisagreeWithAvailability_thenCopiesFollowAvailability() {
+        Long lent = bookRepository.save(Book.builder().title("Lent Legacy Book").author("Author").build()).getId();
+        Long multiCopy = bookRepository.save(Book.builder().title("Multi-Copy Book").author("Author")
+                .totalCopies(3).availableCopies(3).build()).getId();
+        // What schema update leaves behind for a book that was lent before copy counts existed
+        jdbcTemplate.update("update books set available = false, available_copies = 1 where id = ?", lent);
+        jdbcTemplate.update("update books set available_copies = 2 where id = ?", multiCopy);
+
+        copyCountBackfill.backfill();
+        copyCountBackfill.backfill();
+
+        assertEquals(0, availableCopies(lent));
+        assertEquals(2, availableCopies(multiCopy));
+    }
+
+    private int availableCopies(Long id) {
+        return jdbcTemplate.queryForObject("select available_copies from books where id = ?", Integer.class, id);
+    }
+}
@@ -0,0 +1,66 @@
+package com.library.management.config;
+
+import com.library.management.entity.Book;
+import com.library.management.entity.Borrow;
+import com.library.management.entity.User;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.BorrowRepository;
+import com.library.management.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class IdSequenceSeederTest {
+
+    @Autowired
+    private IdSequenceSeeder idSequenceSeeder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowRepository borrowRepository;
+
+    @Test
+    @DisplayName("Happy Path - Generator Is Moved Past Ids Assigned Outside It")
+    void whenRowsExistBeyondGenerator_thenSequenceIsSeededPastThem() {
+        User user = userRepository.save(User.builder()
+                .username("legacy-" + UUID.randomUUID())
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password")
+                .role(User.Role.USER)
+                .build());
+        Book book = bookRepository.save(Book.builder().title("Legacy Book").author("Author").build());
+        // Make sure the generator row exists, then add a row with an id it has never handed out
+        borrowRepository.saveAndFlush(Borrow.builder().user(user).book(book).borrowedAt(LocalDateTime.now()).build());
+        long legacyId = 1_000_000L;
+        jdbcTemplate.update("insert into borrows (id, user_id, book_id, borrowed_at) values (?, ?, ?, ?)",
+                legacyId, user.getId(), book.getId(), LocalDateTime.now());
+
+        idSequenceSeeder.seed("borrows", "borrows", Borrow.ID_ALLOCATION_SIZE);
+
+        Long nextVal = jdbcTemplate.queryForObject(
+                "select next_val from id_sequences where sequence_name = 'borrows'", Long.class);
+        assertEquals(legacyId + Borrow.ID_ALLOCATION_SIZE, nextVal);
+
+        idSequenceSeeder.seed("borrows", "borrows", Borrow.ID_ALLOCATION_SIZE);
+        assertEquals(nextVal, jdbcTemplate.queryForObject(
+                "select next_val from id_sequences where sequence_name = 'borrows'", Long.class));
+    }
+}
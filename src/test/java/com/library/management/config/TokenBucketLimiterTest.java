@@ -0,0 +1,114 @@
+package com.library.management.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBucketLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    @Test
+    @DisplayName("Happy Path - A Full Bucket Allows A Burst Of Its Capacity")
+    void whenBurstExceedsCapacity_thenExtraRequestsAreRejected() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, 3_000, 100, now::get);
+
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("a"));
+        long wait = limiter.tryAcquire("a");
+
+        assertEquals(TimeUnit.SECONDS.toNanos(1), wait);
+        assertEquals(0, limiter.tryAcquire("b"));
+        assertEquals(4, limiter.allowedCount());
+        assertEquals(1, limiter.rejectedCount());
+    }
+
+    @Test
+    @DisplayName("Happy Path - Tokens Refill Over Time")
+    void whenTimePasses_thenTokensAreRefilled() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, 2_000, 100, now::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("a");
+        assertTrue(limiter.tryAcquire("a") > 0);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+    }
+
+    @Test
+    @DisplayName("Happy Path - Idle Buckets Are Dropped When The Key Limit Is Reached")
+    void whenKeyLimitReached_thenIdleBucketsAreEvicted() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1_000, 2, now::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        limiter.tryAcquire("c");
+
+        assertEquals(1, limiter.size());
+        assertEquals(2, limiter.evictionCount());
+    }
+
+    @Test
+    @DisplayName("Unhappy Path - A Full Map Of Active Buckets Is Cut To The Low-Water Mark, Sparing Throttled Keys")
+    void whenKeyLimitReachedWithActiveBuckets_thenLeastUsedAreEvicted() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(5, 5_000, 100, now::get);
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("hot");
+        }
+        for (int i = 1; i < 100; i++) {
+            limiter.tryAcquire("key-" + i);
+        }
+
+        limiter.tryAcquire("new-0");
+        assertEquals(91, limiter.size());
+        assertEquals(10, limiter.evictionCount());
+        assertTrue(limiter.tryAcquire("hot") > 0);
+
+        // Room was made for several new keys, so the next ones do not scan the map again
+        for (int i = 1; i < 9; i++) {
+            limiter.tryAcquire("new-" + i);
+        }
+        assertEquals(99, limiter.size());
+        assertEquals(10, limiter.evictionCount());
+    }
+
+    @Test
+    @DisplayName("Happy Path - Concurrent Callers Never Take More Than The Capacity")
+    void whenManyThreadsAcquire_thenExactlyCapacityAreAllowed() throws Exception {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(50, 3_600_000, 100, now::get);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger allowed = new AtomicInteger();
+        try {
+            for (int i = 0; i < 200; i++) {
+                executor.submit(() -> {
+                    start.await();
+                    if (limiter.tryAcquire("shared") == 0) {
+                        allowed.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(50, allowed.get());
+        assertEquals(150, limiter.rejectedCount());
+    }
+}
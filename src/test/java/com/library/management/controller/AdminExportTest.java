@@ -0,0 +1,87 @@
+package com.library.management.controller;
+
+import com.library.management.entity.Book;
+import com.library.management.entity.User;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.UserRepository;
+import com.library.management.service.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class AdminExportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private String token;
+    private String title;
+
+    @BeforeEach
+    void setUp() {
+        User admin = userRepository.findByUsername("admin").orElseThrow();
+        token = jwtService.generateToken(admin);
+
+        title = "Export, \"Quoted\" " + UUID.randomUUID();
+        bookRepository.save(Book.builder()
+                .title(title)
+                .author("Test Author")
+                .totalCopies(1)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Happy Path - Books Export As NDJSON")
+    void whenExportBooksAsNdjson_thenOneJsonObjectPerLine() throws Exception {
+        String body = export("/admin/export/books");
+
+        assertTrue(body.lines().allMatch(line -> line.startsWith("{") && line.endsWith("}")));
+        assertTrue(body.contains("\"title\":\"Export, \\\"Quoted\\\" "));
+    }
+
+    @Test
+    @DisplayName("Happy Path - Books Export As CSV")
+    void whenExportBooksAsCsv_thenValuesAreEscaped() throws Exception {
+        String body = export("/admin/export/books?format=CSV");
+
+        assertTrue(body.startsWith("id,title,author,totalCopies,availableCopies,available\r\n"));
+        assertTrue(body.contains("\"" + title.replace("\"", "\"\"") + "\",Test Author,1,1,true"));
+    }
+
+    private String export(String url) throws Exception {
+        MvcResult result = mockMvc.perform(get(url).header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+}
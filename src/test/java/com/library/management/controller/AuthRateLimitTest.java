@@ -0,0 +1,111 @@
+package com.library.management.controller;
+
+import com.library.management.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "app.rate-limit.login.per-ip=5",
+        "app.rate-limit.login.per-username=2",
+        "app.rate-limit.signup.per-ip=1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class AuthRateLimitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoSpyBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockitoSpyBean
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Unhappy Path - Repeated Logins For One Username Are Throttled Before Hashing")
+    void whenUsernameExceedsLimit_thenLoginIsRejectedWithoutHashing() throws Exception {
+        String username = "victim-" + UUID.randomUUID();
+
+        login(username, "10.0.0.1").andExpect(status().isUnauthorized());
+        login(username, "10.0.0.2").andExpect(status().isUnauthorized());
+        clearInvocations(passwordEncoder, userRepository);
+
+        login(username.toUpperCase(), "10.0.0.3")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.status").value(429));
+
+        verify(passwordEncoder, never()).matches(any(), anyString());
+        verify(userRepository, never()).findByUsername(anyString());
+    }
+
+    @Test
+    @DisplayName("Unhappy Path - Repeated Requests From One Address Are Throttled")
+    void whenAddressExceedsLimit_thenRequestsAreRejected() throws Exception {
+        mockMvc.perform(post("/auth/signup")
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.1.1");
+                            return request;
+                        })
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/auth/signup")
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.1.1");
+                            return request;
+                        })
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    @DisplayName("Unhappy Path - Padded Login Body Over The Cap Is Rejected Before Hashing")
+    void whenLoginBodyIsPaddedPastCap_thenRejectedWithoutHashing() throws Exception {
+        String body = "{\"username\":\"victim-" + UUID.randomUUID() + "\",\"password\":\"wrong\"}" + " ".repeat(20_000);
+        clearInvocations(passwordEncoder, userRepository);
+
+        mockMvc.perform(post("/auth/login")
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.2.1");
+                            return request;
+                        })
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.status").value(413));
+
+        verify(passwordEncoder, never()).matches(any(), anyString());
+        verify(userRepository, never()).findByUsername(anyString());
+    }
+
+    private ResultActions login(String username, String remoteAddr) throws Exception {
+        return mockMvc.perform(post("/auth/login")
+                .with(request -> {
+                    request.setRemoteAddr(remoteAddr);
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"password\":\"wrong\"}"));
+    }
+}
@@ -0,0 +1,118 @@
+package com.library.management.controller;
+
+import com.library.management.entity.Book;
+import com.library.management.entity.User;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.UserRepository;
+import com.library.management.service.JwtService;
+import com.library.management.support.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class BatchBorrowTest {
+
+    private static final int BOOKS = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private String token;
+    private List<Book> books;
+    private Book lentOut;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder()
+                .username("kiosk-" + UUID.randomUUID())
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password")
+                .role(User.Role.USER)
+                .build());
+        token = jwtService.generateToken(user);
+
+        List<Book> newBooks = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            newBooks.add(Book.builder().title("Kiosk Book " + i).author("Author " + i).build());
+        }
+        books = bookRepository.saveAll(newBooks);
+        lentOut = bookRepository.save(Book.builder().title("Lent Out").author("Author").availableCopies(0).build());
+    }
+
+    @Test
+    @DisplayName("Happy Path - Whole Batch Is Borrowed And Returned In One Request Each")
+    void whenBatchBorrowedAndReturned_thenEveryBookIsReported() throws Exception {
+        String ids = books.stream().map(book -> book.getId().toString()).collect(Collectors.joining(","));
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(post("/books/borrow")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"bookIds\":[" + ids + "," + lentOut.getId() + ",-1]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(BOOKS))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.items[0].borrow.bookTitle").value("Kiosk Book 0"))
+                .andExpect(jsonPath("$.items[10].error").value("Book is not available for borrowing"))
+                .andExpect(jsonPath("$.items[11].error").value("Book not found with id: -1"));
+
+        // The ten borrows go out as a single batched insert rather than ten statements
+        assertEquals(1, SqlStatementCounter.statements().stream()
+                .filter(sql -> sql.startsWith("insert into borrows"))
+                .count());
+        assertEquals(1, SqlStatementCounter.countSelectsFrom("books"));
+        books.forEach(book -> assertEquals(0, bookRepository.findById(book.getId()).orElseThrow().getAvailableCopies()));
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(post("/books/return")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"bookIds\":[" + ids + "," + lentOut.getId() + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(BOOKS))
+                .andExpect(jsonPath("$.items[10].success").value(false));
+
+        assertEquals(1, SqlStatementCounter.statements().stream()
+                .filter(sql -> sql.startsWith("update borrows"))
+                .count());
+        books.forEach(book -> assertEquals(1, bookRepository.findById(book.getId()).orElseThrow().getAvailableCopies()));
+    }
+
+    @Test
+    @DisplayName("Unhappy Path - Empty Batch Is Rejected")
+    void whenBatchEmpty_thenBadRequest() throws Exception {
+        mockMvc.perform(post("/books/borrow")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"bookIds\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,99 @@
+package com.library.management.controller;
+
+import com.library.management.entity.User;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.UserRepository;
+import com.library.management.service.JwtService;
+import com.library.management.support.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class BookImportTest {
+
+    private static final int ROWS = 500;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() {
+        User admin = userRepository.findByUsername("admin").orElseThrow();
+        adminToken = jwtService.generateToken(admin);
+    }
+
+    @Test
+    @DisplayName("Happy Path - CSV Import Inserts In Batches And Skips Invalid Rows")
+    void whenCsvImported_thenValidRowsAreInsertedInBatches() throws Exception {
+        String author = "Importer " + UUID.randomUUID();
+        StringBuilder csv = new StringBuilder("id,title,author,totalCopies\r\n");
+        for (int i = 0; i < ROWS; i++) {
+            csv.append(",\"Imported, Vol. ").append(i).append("\",").append(author).append(",2\r\n");
+        }
+        csv.append(",,").append(author).append(",1\r\n");
+        long before = bookRepository.count();
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(post("/admin/import/books?format=CSV")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType("text/csv")
+                        .content(csv.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(ROWS))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0]").value("Row " + (ROWS + 1) + ": Title is required"));
+
+        assertEquals(before + ROWS, bookRepository.count());
+        // Far fewer insert statements are prepared than rows because inserts are batched
+        long inserts = SqlStatementCounter.statements().stream().filter(sql -> sql.startsWith("insert into books")).count();
+        assertTrue(inserts <= ROWS / 50 + 1, "expected batched inserts but saw " + inserts);
+    }
+
+    @Test
+    @DisplayName("Happy Path - NDJSON Import")
+    void whenNdjsonImported_thenRowsAreInserted() throws Exception {
+        mockMvc.perform(post("/admin/import/books")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType("application/x-ndjson")
+                        .content("{\"title\":\"First\",\"author\":\"A\"}\n{\"title\":\"Second\",\"author\":\"B\",\"totalCopies\":3}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(0));
+    }
+
+    @Test
+    @DisplayName("Unhappy Path - CSV Without Required Columns Is Rejected")
+    void whenCsvHeaderMissesColumns_thenBadRequest() throws Exception {
+        mockMvc.perform(post("/admin/import/books?format=CSV")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType("text/csv")
+                        .content("name,writer\r\nx,y\r\n"))
+                .andExpect(status().isBadRequest());
+    }
+}
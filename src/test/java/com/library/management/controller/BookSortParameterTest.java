@@ -0,0 +1,89 @@
+package com.library.management.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.management.dto.BookDto;
+import com.library.management.dto.BookSort;
+import com.library.management.entity.Book;
+import com.library.management.entity.User;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.UserRepository;
+import com.library.management.service.BookService;
+import com.library.management.service.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class BookSortParameterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        token = jwtService.generateToken(userRepository.save(User.builder()
+                .username("sorter-" + UUID.randomUUID())
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password")
+                .role(User.Role.USER)
+                .build()));
+        bookRepository.save(Book.builder().title("Zebra Sorted").author("Sort Author").build());
+        bookRepository.save(Book.builder().title("Aardvark Sorted").author("Sort Author").build());
+    }
+
+    @Test
+    @DisplayName("Sort Parameter - Documented Lower-Case Value Sorts By Title")
+    void whenSortIsLowerCaseTitle_thenPageIsSortedByTitle() throws Exception {
+        JsonNode page = objectMapper.readTree(mockMvc.perform(get("/books")
+                        .param("sort", "title")
+                        .param("size", "100")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+
+        List<Long> ids = new ArrayList<>();
+        page.path("items").forEach(item -> ids.add(item.path("id").asLong()));
+        assertEquals(bookService.getAvailableBooks(null, 100, BookSort.TITLE).getItems().stream().map(BookDto::getId).toList(),
+                ids);
+    }
+
+    @Test
+    @DisplayName("Sort Parameter - Unknown Value Is A Bad Request")
+    void whenSortUnknown_thenBadRequest() throws Exception {
+        mockMvc.perform(get("/books").param("sort", "rating").header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,101 @@
+package com.library.management.controller;
+
+import com.library.management.entity.Book;
+import com.library.management.entity.Borrow;
+import com.library.management.entity.User;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.BorrowRepository;
+import com.library.management.repository.UserRepository;
+import com.library.management.service.JwtService;
+import com.library.management.support.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class BorrowListingQueryCountTest {
+
+    private static final int ROWS = 1_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowRepository borrowRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private String userToken;
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        User user = userRepository.save(User.builder()
+                .username("borrower-" + UUID.randomUUID())
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password")
+                .role(User.Role.USER)
+                .build());
+
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            books.add(Book.builder().title("Listing Book " + i).author("Author " + i).availableCopies(0).build());
+        }
+        List<Borrow> borrows = new ArrayList<>();
+        for (Book book : bookRepository.saveAll(books)) {
+            borrows.add(Borrow.builder().user(user).book(book).borrowedAt(LocalDateTime.now()).build());
+        }
+        borrowRepository.saveAll(borrows);
+
+        userToken = jwtService.generateToken(user);
+        adminToken = jwtService.generateToken(userRepository.findByUsername("admin").orElseThrow());
+
+        // Warm the token epoch and user caches so only the listing itself is measured
+        mockMvc.perform(get("/books/history").header("Authorization", "Bearer " + userToken)).andExpect(status().isOk());
+        mockMvc.perform(get("/admin/books?size=1").header("Authorization", "Bearer " + adminToken)).andExpect(status().isOk());
+        SqlStatementCounter.reset();
+    }
+
+    @Test
+    @DisplayName("Borrow History - 1,000 Rows In One Statement")
+    void whenGetBorrowHistory_thenSingleStatement() throws Exception {
+        mockMvc.perform(get("/books/history").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(ROWS));
+
+        assertEquals(1, SqlStatementCounter.count(), SqlStatementCounter.statements()::toString);
+    }
+
+    @Test
+    @DisplayName("Borrowed Books - Open Borrows In One Statement")
+    void whenGetAllBorrowedBooks_thenSingleStatement() throws Exception {
+        mockMvc.perform(get("/admin/borrowed-books").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
+        assertEquals(1, SqlStatementCounter.count(), SqlStatementCounter.statements()::toString);
+    }
+}
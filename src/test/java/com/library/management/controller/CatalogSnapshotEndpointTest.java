@@ -0,0 +1,119 @@
+package com.library.management.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.management.entity.Book;
+import com.library.management.entity.User;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.UserRepository;
+import com.library.management.service.CatalogSnapshot;
+import com.library.management.service.JwtService;
+import com.library.management.support.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class CatalogSnapshotEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private CatalogSnapshot catalogSnapshot;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder()
+                .username("browser-" + UUID.randomUUID())
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password")
+                .role(User.Role.USER)
+                .build());
+        token = jwtService.generateToken(user);
+        bookRepository.save(Book.builder().title("Snapshot Book").author("Snapshot Author").build());
+    }
+
+    @Test
+    @DisplayName("Default Listing - Served Gzipped From The Snapshot Without A Query")
+    void whenSnapshotCurrent_thenServedWithoutQuery() throws Exception {
+        catalogSnapshot.rebuild();
+
+        SqlStatementCounter.reset();
+        MockHttpServletResponse response = mockMvc.perform(authorized(get("/books"))
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertEquals(0, SqlStatementCounter.countSelectsFrom("books"), SqlStatementCounter.statements()::toString);
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(databasePage(), objectMapper.readTree(gunzip(response.getContentAsByteArray())));
+    }
+
+    @Test
+    @DisplayName("Borrow - Listing Never Shows The Stale Snapshot")
+    void whenBookBorrowed_thenListingMatchesDatabase() throws Exception {
+        catalogSnapshot.rebuild();
+        long bookId = objectMapper.readTree(listing()).path("items").path(0).path("id").asLong();
+
+        mockMvc.perform(authorized(post("/books/" + bookId + "/borrow"))).andExpect(status().isOk());
+
+        assertEquals(databasePage(), objectMapper.readTree(listing()));
+    }
+
+    private byte[] listing() throws Exception {
+        return mockMvc.perform(authorized(get("/books")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    // An explicit size bypasses the snapshot
+    private JsonNode databasePage() throws Exception {
+        return objectMapper.readTree(mockMvc.perform(authorized(get("/books").param("size", "20")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+    }
+
+    private static byte[] gunzip(byte[] body) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", "Bearer " + token);
+    }
+}
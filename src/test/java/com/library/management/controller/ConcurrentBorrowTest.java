@@ -0,0 +1,176 @@
+package com.library.management.controller;
+
+import com.library.management.entity.Book;
+import com.library.management.entity.Borrow;
+import com.library.management.entity.User;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.BorrowRepository;
+import com.library.management.repository.UserRepository;
+import com.library.management.service.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ConcurrentBorrowTest {
+
+    private static final int BORROWERS = 32;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowRepository borrowRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private final List<String> tokens = new ArrayList<>();
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        tokens.clear();
+        for (int i = 0; i < BORROWERS; i++) {
+            User user = userRepository.save(User.builder()
+                    .username("racer-" + UUID.randomUUID())
+                    .email(UUID.randomUUID() + "@example.com")
+                    .password("password")
+                    .role(User.Role.USER)
+                    .build());
+            tokens.add(jwtService.generateToken(user));
+        }
+        book = bookRepository.save(Book.builder().title("Contended Book").author("Author").build());
+    }
+
+    @Test
+    @DisplayName("Happy Path - Only One Of Many Concurrent Borrowers Gets The Book")
+    void whenManyUsersBorrowSameBook_thenExactlyOneSucceeds() throws Exception {
+        assertEquals(1, raceToBorrow(book));
+
+        assertEquals(1, openBorrowsOf(book));
+        Book reloaded = bookRepository.findById(book.getId()).orElseThrow();
+        assertEquals(0, reloaded.getAvailableCopies());
+        assertFalse(reloaded.getAvailable());
+    }
+
+    @Test
+    @DisplayName("Happy Path - Concurrent Borrowers Get Exactly The Copies On The Shelf")
+    void whenManyUsersBorrowMultiCopyBook_thenEveryCopyIsLentOnce() throws Exception {
+        Book multiCopy = bookRepository.save(Book.builder().title("Popular Book").author("Author")
+                .totalCopies(5).availableCopies(5).build());
+
+        assertEquals(5, raceToBorrow(multiCopy));
+
+        assertEquals(5, openBorrowsOf(multiCopy));
+        Book reloaded = bookRepository.findById(multiCopy.getId()).orElseThrow();
+        assertEquals(5, reloaded.getTotalCopies());
+        assertEquals(0, reloaded.getAvailableCopies());
+        assertFalse(reloaded.getAvailable());
+    }
+
+    @Test
+    @DisplayName("Happy Path - Returned Book Can Be Borrowed Again")
+    void whenBookReturned_thenItCanBeBorrowedAgain() throws Exception {
+        String first = tokens.get(0);
+        String second = tokens.get(1);
+
+        mockMvc.perform(post("/books/" + book.getId() + "/borrow").header("Authorization", "Bearer " + first))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/books/" + book.getId() + "/borrow").header("Authorization", "Bearer " + second))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/books/" + book.getId() + "/return").header("Authorization", "Bearer " + first))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/books/" + book.getId() + "/borrow").header("Authorization", "Bearer " + second))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Unhappy Path - Database Rejects A Second Open Borrow Of The Same Book By One User")
+    void whenSecondOpenBorrowInserted_thenConstraintIsViolated() {
+        User user = userRepository.findAll().stream()
+                .filter(candidate -> candidate.getUsername().startsWith("racer-"))
+                .findFirst()
+                .orElseThrow();
+        borrowRepository.saveAndFlush(openBorrow(user));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> borrowRepository.saveAndFlush(openBorrow(user)));
+    }
+
+    private int raceToBorrow(Book target) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(BORROWERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (String token : tokens) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(post("/books/" + target.getId() + "/borrow")
+                                    .header("Authorization", "Bearer " + token))
+                            .andReturn().getResponse().getStatus();
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            int rejected = 0;
+            for (Future<Integer> result : results) {
+                int status = result.get(30, TimeUnit.SECONDS);
+                if (status == 200) {
+                    succeeded++;
+                } else if (status == 400) {
+                    rejected++;
+                }
+            }
+            assertEquals(BORROWERS, succeeded + rejected);
+            return succeeded;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long openBorrowsOf(Book target) {
+        return borrowRepository.findAll().stream()
+                .filter(borrow -> borrow.getReturnedAt() == null)
+                .filter(borrow -> target.getId().equals(borrow.getOpenBookId()))
+                .count();
+    }
+
+    private Borrow openBorrow(User user) {
+        return Borrow.builder()
+                .user(user)
+                .book(book)
+                .borrowedAt(LocalDateTime.now())
+                .openBookId(book.getId())
+                .build();
+    }
+}
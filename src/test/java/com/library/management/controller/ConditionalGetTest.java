@@ -0,0 +1,137 @@
+package com.library.management.controller;
+
+import com.library.management.dto.BookDto;
+import com.library.management.entity.Book;
+import com.library.management.entity.User;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.UserRepository;
+import com.library.management.service.BookService;
+import com.library.management.service.JwtService;
+import com.library.management.support.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private String token;
+    private String otherToken;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        token = jwtService.generateToken(newUser("poller-"));
+        otherToken = jwtService.generateToken(newUser("other-"));
+        book = bookRepository.save(Book.builder()
+                .title("Polled Book")
+                .author("Polled Author")
+                .totalCopies(3)
+                .availableCopies(3)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Catalog Poll - Unchanged Catalog Is 304 Without Touching Books")
+    void whenCatalogUnchanged_thenNotModifiedWithoutQuery() throws Exception {
+        String etag = poll("/books", token, null, status().isOk());
+
+        SqlStatementCounter.reset();
+        String revalidated = poll("/books", token, etag, status().isNotModified());
+
+        assertEquals(etag, revalidated);
+        assertNoCatalogStatements();
+    }
+
+    @Test
+    @DisplayName("Catalog Poll - Borrow Changes The Catalog ETag")
+    void whenBookBorrowed_thenCatalogRefetched() throws Exception {
+        String etag = poll("/books", token, null, status().isOk());
+
+        mockMvc.perform(post("/books/" + book.getId() + "/borrow").header("Authorization", "Bearer " + otherToken))
+                .andExpect(status().isOk());
+
+        assertNotEquals(etag, poll("/books", token, etag, status().isOk()));
+    }
+
+    @Test
+    @DisplayName("History Poll - Only The User's Own Borrows Change The ETag")
+    void whenOtherUserBorrows_thenHistoryStillNotModified() throws Exception {
+        String etag = poll("/books/history", token, null, status().isOk());
+
+        mockMvc.perform(post("/books/" + book.getId() + "/borrow").header("Authorization", "Bearer " + otherToken))
+                .andExpect(status().isOk());
+        SqlStatementCounter.reset();
+        poll("/books/history", token, etag, status().isNotModified());
+        assertNoCatalogStatements();
+
+        mockMvc.perform(post("/books/" + book.getId() + "/borrow").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        assertNotEquals(etag, poll("/books/history", token, etag, status().isOk()));
+    }
+
+    @Test
+    @DisplayName("History Poll - Renaming A Book Changes Every History ETag")
+    void whenBookRenamed_thenHistoryRefetched() throws Exception {
+        String etag = poll("/books/history", token, null, status().isOk());
+
+        bookService.updateBook(book.getId(), BookDto.builder().title("Renamed Book").author("Polled Author").build());
+
+        assertNotEquals(etag, poll("/books/history", token, etag, status().isOk()));
+    }
+
+    private String poll(String path, String bearer, String ifNoneMatch, ResultMatcher expected) throws Exception {
+        var request = get(path).header("Authorization", "Bearer " + bearer);
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        String etag = mockMvc.perform(request).andExpect(expected).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        return etag;
+    }
+
+    private static void assertNoCatalogStatements() {
+        assertTrue(SqlStatementCounter.statements().stream().noneMatch(sql -> sql.matches("(?s).*\\b(books|borrows)\\b.*")),
+                SqlStatementCounter.statements()::toString);
+    }
+
+    private User newUser(String prefix) {
+        return userRepository.save(User.builder()
+                .username(prefix + UUID.randomUUID())
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password")
+                .role(User.Role.USER)
+                .build());
+    }
+}
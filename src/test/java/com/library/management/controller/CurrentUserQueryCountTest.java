@@ -0,0 +1,100 @@
+package com.library.management.controller;
+
+import com.library.management.cache.UserCache;
+import com.library.management.entity.Book;
+import com.library.management.entity.User;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.UserRepository;
+import com.library.management.service.JwtService;
+import com.library.management.support.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class CurrentUserQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserCache userCache;
+
+    private String token;
+    private Book book;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        User user = userRepository.save(User.builder()
+                .username("reader-" + UUID.randomUUID())
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password")
+                .role(User.Role.USER)
+                .build());
+
+        book = bookRepository.save(Book.builder()
+                .title("Test Book")
+                .author("Test Author")
+                .available(true)
+                .build());
+
+        token = jwtService.generateToken(user);
+
+        // Warm the token epoch map so only the user fetch itself is measured
+        mockMvc.perform(authorized(get("/books/history"))).andExpect(status().isOk());
+        userCache.evictAll();
+        SqlStatementCounter.reset();
+    }
+
+    @Test
+    @DisplayName("Borrow Book - User Is Fetched At Most Once")
+    void whenBorrowBook_thenUserIsFetchedAtMostOnce() throws Exception {
+        mockMvc.perform(authorized(post("/books/" + book.getId() + "/borrow"))).andExpect(status().isOk());
+
+        assertTrue(SqlStatementCounter.countSelectsFrom("users") <= 1, SqlStatementCounter.statements()::toString);
+    }
+
+    @Test
+    @DisplayName("Current User - User Is Fetched At Most Once")
+    void whenGetCurrentUser_thenUserIsFetchedAtMostOnce() throws Exception {
+        mockMvc.perform(authorized(get("/auth/me"))).andExpect(status().isOk());
+
+        assertTrue(SqlStatementCounter.countSelectsFrom("users") <= 1, SqlStatementCounter.statements()::toString);
+    }
+
+    @Test
+    @DisplayName("Borrow History - User Is Fetched At Most Once")
+    void whenGetBorrowHistory_thenUserIsFetchedAtMostOnce() throws Exception {
+        mockMvc.perform(authorized(get("/books/history"))).andExpect(status().isOk());
+
+        assertTrue(SqlStatementCounter.countSelectsFrom("users") <= 1, SqlStatementCounter.statements()::toString);
+    }
+
+    private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", "Bearer " + token);
+    }
+}
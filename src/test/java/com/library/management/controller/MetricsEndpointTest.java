@@ -0,0 +1,79 @@
+package com.library.management.controller;
+
+import com.library.management.entity.User;
+import com.library.management.repository.UserRepository;
+import com.library.management.service.JwtService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "management.server.port=0")
+@AutoConfigureObservability
+@ActiveProfiles("test")
+public class MetricsEndpointTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Test
+    @DisplayName("Happy Path - Prometheus Scrape Covers Requests, JWT, Pool, SQL And Caches")
+    void whenScraped_thenHotPathMetricsArePresent() throws Exception {
+        User admin = userRepository.findByUsername("admin").orElseThrow();
+        HttpResponse<String> books = get("http://localhost:" + port + "/books",
+                jwtService.generateToken(admin));
+        assertEquals(200, books.statusCode());
+
+        HttpResponse<String> scrape = get("http://localhost:" + managementPort + "/actuator/prometheus", null);
+
+        assertEquals(200, scrape.statusCode());
+        String body = scrape.body();
+        assertTrue(body.contains("http_server_requests_seconds_bucket{"));
+        assertTrue(body.contains("jwt_verify_seconds_bucket{"));
+        assertTrue(body.contains("library_service_seconds_count{"));
+        assertTrue(body.contains("hikaricp_connections_active{"));
+        assertTrue(body.contains("hikaricp_connections_acquire_seconds_bucket{"));
+        assertTrue(body.contains("hibernate_statements_total{"));
+        assertTrue(body.contains("cache_hit_ratio{"));
+        assertTrue(body.contains("password_hash_queue_size"));
+    }
+
+    @Test
+    @DisplayName("Unhappy Path - Actuator Is Not Served On The Application Port")
+    void whenActuatorRequestedOnApplicationPort_thenItIsNotExposed() throws Exception {
+        HttpResponse<String> response = get("http://localhost:" + port + "/actuator/prometheus", null);
+
+        assertNotEquals(200, response.statusCode());
+    }
+
+    private HttpResponse<String> get(String url, String token) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url)).GET();
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,241 @@
+package com.library.management.controller;
+
+import com.library.management.dto.BookDto;
+import com.library.management.entity.Book;
+import com.library.management.entity.OutboxEvent;
+import com.library.management.entity.OutboxGap;
+import com.library.management.entity.User;
+import com.library.management.outbox.InMemoryOutboxSink;
+import com.library.management.outbox.Outbox;
+import com.library.management.outbox.OutboxRelay;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.OutboxGapRepository;
+import com.library.management.repository.UserRepository;
+import com.library.management.service.BookService;
+import com.library.management.service.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class OutboxRelayTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private InMemoryOutboxSink sink;
+
+    @Autowired
+    private Outbox outbox;
+
+    @Autowired
+    private OutboxGapRepository outboxGapRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.outbox.batch-size:500}")
+    private int batchSize;
+
+    private User user;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("outbox-" + UUID.randomUUID())
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password")
+                .role(User.Role.USER)
+                .build());
+        token = jwtService.generateToken(user);
+        // Events left by other tests in this context are published before each test starts
+        outboxRelay.relay();
+        sink.clear();
+    }
+
+    @Test
+    @DisplayName("Borrow And Return - Published Once, In Order")
+    void whenBorrowedAndReturned_thenPublishedInOrder() throws Exception {
+        Book book = newBook(1);
+
+        mockMvc.perform(post("/books/" + book.getId() + "/borrow").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/books/" + book.getId() + "/return").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        assertEquals(2, outboxRelay.relay());
+        assertEquals(0, outboxRelay.relay());
+
+        List<OutboxEvent> events = sink.events();
+        assertEquals(List.of(OutboxEvent.Type.BOOK_BORROWED, OutboxEvent.Type.BOOK_RETURNED),
+                events.stream().map(OutboxEvent::getType).toList());
+        assertTrue(events.get(0).getId() < events.get(1).getId());
+        assertTrue(events.stream().allMatch(event -> event.getBookId().equals(book.getId())
+                && event.getUserId().equals(user.getId())
+                && event.getBorrowId() != null));
+    }
+
+    @Test
+    @DisplayName("Rejected Borrow - Rolled Back Without An Event")
+    void whenBorrowRejected_thenNoEvent() throws Exception {
+        Book book = newBook(0);
+
+        mockMvc.perform(post("/books/" + book.getId() + "/borrow").header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(0, outboxRelay.relay());
+    }
+
+    @Test
+    @DisplayName("Sink Failure - Batch Redelivered From The Checkpoint")
+    void whenSinkFails_thenBatchRedelivered() {
+        BookDto created = bookService.createBook(BookDto.builder().title("Outbox Book").author("Outbox Author").build());
+        bookService.updateBook(created.getId(), BookDto.builder().title("Renamed Outbox Book").author("Outbox Author").build());
+        bookService.deleteBook(created.getId());
+
+        sink.failNext(1);
+        assertThrows(UncheckedIOException.class, outboxRelay::relay);
+        assertTrue(sink.events().isEmpty());
+
+        assertEquals(3, outboxRelay.relay());
+        assertEquals(1, sink.batches().size());
+        assertEquals(List.of(OutboxEvent.Type.BOOK_CREATED, OutboxEvent.Type.BOOK_UPDATED, OutboxEvent.Type.BOOK_DELETED),
+                sink.events().stream().map(OutboxEvent::getType).toList());
+    }
+
+    @Test
+    @DisplayName("Slow Writer - Event Committed After A Higher Id Is Still Published")
+    void whenLowerIdCommitsLate_thenPublishedOnNextPass() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> slowWriter = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+            outbox.bookChanged(OutboxEvent.Type.BOOK_UPDATED, 1L);
+            written.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(written.await(10, TimeUnit.SECONDS));
+        transaction.executeWithoutResult(status -> outbox.bookChanged(OutboxEvent.Type.BOOK_UPDATED, 2L));
+
+        // The checkpoint moves past the slow writer's id, which is kept as a gap
+        assertEquals(1, outboxRelay.relay());
+        release.countDown();
+        slowWriter.get(10, TimeUnit.SECONDS);
+        assertEquals(1, outboxRelay.relay());
+        assertEquals(0, outboxRelay.relay());
+
+        List<OutboxEvent> events = sink.events();
+        assertEquals(List.of(2L, 1L), events.stream().map(OutboxEvent::getBookId).toList());
+        assertTrue(events.get(0).getId() > events.get(1).getId());
+        assertFalse(outboxGapRepository.existsById(events.get(1).getId()));
+    }
+
+    @Test
+    @DisplayName("Many Open Gaps - Every Gap Is Looked Up, Not Just The Lowest Batch")
+    void whenMoreGapsThanBatchSize_thenHighestGapStillPublished() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (int i = 0; i < batchSize; i++) {
+            transaction.executeWithoutResult(status -> {
+                outbox.bookChanged(OutboxEvent.Type.BOOK_UPDATED, 1L);
+                status.setRollbackOnly();
+            });
+        }
+        transaction.executeWithoutResult(status -> outbox.bookChanged(OutboxEvent.Type.BOOK_UPDATED, 2L));
+        assertEquals(1, outboxRelay.relay());
+
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> slowWriter = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+            outbox.bookChanged(OutboxEvent.Type.BOOK_UPDATED, 3L);
+            written.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(written.await(10, TimeUnit.SECONDS));
+        transaction.executeWithoutResult(status -> outbox.bookChanged(OutboxEvent.Type.BOOK_UPDATED, 4L));
+        assertEquals(1, outboxRelay.relay());
+        assertTrue(outboxGapRepository.count() > batchSize);
+
+        // The slow writer's gap sits above a full batch of rolled-back ones
+        release.countDown();
+        slowWriter.get(10, TimeUnit.SECONDS);
+        assertEquals(1, outboxRelay.relay());
+        assertEquals(List.of(2L, 4L, 3L), sink.events().stream().map(OutboxEvent::getBookId).toList());
+
+        outboxGapRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Rolled Back Writer - Gap Dropped Once It Times Out")
+    void whenLowerIdRolledBack_thenGapExpires() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            outbox.bookChanged(OutboxEvent.Type.BOOK_UPDATED, 1L);
+            status.setRollbackOnly();
+        });
+        transaction.executeWithoutResult(status -> outbox.bookChanged(OutboxEvent.Type.BOOK_UPDATED, 2L));
+
+        assertEquals(1, outboxRelay.relay());
+        Long gap = sink.events().get(0).getId() - 1;
+        assertTrue(outboxGapRepository.existsById(gap));
+
+        outboxGapRepository.save(OutboxGap.builder().eventId(gap).seenAt(Instant.now().minusSeconds(3600)).build());
+        assertEquals(0, outboxRelay.relay());
+        assertFalse(outboxGapRepository.existsById(gap));
+    }
+
+    private Book newBook(int copies) {
+        return bookRepository.save(Book.builder()
+                .title("Outbox Book")
+                .author("Outbox Author")
+                .totalCopies(Math.max(copies, 1))
+                .availableCopies(copies)
+                .build());
+    }
+}
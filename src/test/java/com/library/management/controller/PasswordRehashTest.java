@@ -0,0 +1,57 @@
+package com.library.management.controller;
+
+import com.library.management.entity.User;
+import com.library.management.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class PasswordRehashTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    @DisplayName("Happy Path - Login Re-Hashes A Password Stored With An Outdated Cost")
+    void whenLoginWithOutdatedHash_thenPasswordIsReHashedWithConfiguredCost() throws Exception {
+        String username = "rehash-" + UUID.randomUUID();
+        User user = userRepository.save(User.builder()
+                .username(username)
+                .email(UUID.randomUUID() + "@example.com")
+                .password(new BCryptPasswordEncoder(4).encode("secret"))
+                .role(User.Role.USER)
+                .build());
+
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"password\":\"secret\"}"))
+                .andExpect(status().isOk());
+
+        String stored = userRepository.findById(user.getId()).orElseThrow().getPassword();
+        assertFalse(stored.startsWith("$2a$04$"));
+        assertFalse(passwordEncoder.upgradeEncoding(stored));
+        assertTrue(passwordEncoder.matches("secret", stored));
+    }
+}
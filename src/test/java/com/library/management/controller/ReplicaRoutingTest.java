@@ -0,0 +1,161 @@
+package com.library.management.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.management.config.ReplicaRoutingDataSource;
+import com.library.management.entity.Book;
+import com.library.management.entity.User;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.UserRepository;
+import com.library.management.service.BookService;
+import com.library.management.service.BorrowService;
+import com.library.management.service.JwtService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two embedded databases stand in for primary and replica; replication is a script copy, taken
+ * whenever a test wants the replica to catch up, so anything written afterwards shows as lag.
+ */
+@SpringBootTest(properties = {
+        "app.datasource.replica.jdbc-url=jdbc:h2:mem:replica;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.username=sa",
+        "app.datasource.replica.sticky-window=500"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ReplicaRoutingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BorrowService borrowService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    private String token;
+    private Book book;
+
+    @TestConfiguration
+    static class Replication {
+
+        // The replica needs the schema before the startup index builds read from it
+        @Bean
+        ApplicationListener<ContextRefreshedEvent> initialReplication(@Qualifier("primaryDataSource") DataSource primary,
+                                                                      @Qualifier("replicaDataSource") DataSource replica) {
+            return event -> replicate(primary, replica);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        token = jwtService.generateToken(userRepository.save(User.builder()
+                .username("reader-" + UUID.randomUUID())
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password")
+                .role(User.Role.USER)
+                .build()));
+        book = bookRepository.save(Book.builder()
+                .title("Routed Book")
+                .author("Routed Author")
+                .totalCopies(2)
+                .availableCopies(2)
+                .build());
+        replicate(primary, replica);
+    }
+
+    @Test
+    @DisplayName("Read-Only Transaction - Reads The Replica Without Caching Its Rows")
+    void whenReadOnly_thenReadsReplicaAndLeavesSecondLevelCacheAlone() {
+        new JdbcTemplate(replica).update("update books set title = 'Replica Title' where id = ?", book.getId());
+        entityManagerFactory.getCache().evict(Book.class);
+
+        assertEquals("Replica Title", bookService.getBookById(book.getId()).getTitle());
+        assertEquals("Routed Book", ReplicaRoutingDataSource.onPrimary(() -> bookService.getBookById(book.getId())).getTitle());
+    }
+
+    @Test
+    @DisplayName("Borrow - Written To The Primary And Read Back By The Borrower Only")
+    void whenBorrowed_thenBorrowerReadsOwnWriteUntilWindowEnds() throws Exception {
+        mockMvc.perform(post("/books/" + book.getId() + "/borrow").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        assertEquals(1, openBorrows(primary));
+        assertEquals(0, openBorrows(replica));
+        assertEquals(1, history().size());
+        assertTrue(borrowService.getAllBorrowedBooks().stream().noneMatch(borrow -> borrow.getBookId().equals(book.getId())));
+
+        Thread.sleep(700);
+        assertEquals(0, history().size());
+    }
+
+    private JsonNode history() throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get("/books/history").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+    }
+
+    private int openBorrows(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject(
+                "select count(*) from borrows where book_id = ? and returned_at is null", Integer.class, book.getId());
+    }
+
+    private static void replicate(DataSource primary, DataSource replica) {
+        try {
+            Path script = Files.createTempFile("replica", ".sql");
+            new JdbcTemplate(primary).execute("script drop to '" + script + "'");
+            new JdbcTemplate(replica).execute("runscript from '" + script + "'");
+            Files.delete(script);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
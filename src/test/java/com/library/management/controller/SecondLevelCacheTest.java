@@ -0,0 +1,152 @@
+package com.library.management.controller;
+
+import com.library.management.config.SecondLevelCacheConfig;
+import com.library.management.dto.ExportFormat;
+import com.library.management.entity.Book;
+import com.library.management.entity.User;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.UserRepository;
+import com.library.management.service.BookService;
+import com.library.management.service.ExportService;
+import com.library.management.service.JwtService;
+import com.library.management.support.SqlStatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.OutputStream;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ExportService exportService;
+
+    private User user;
+    private String token;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .username("cached-" + UUID.randomUUID())
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password")
+                .role(User.Role.USER)
+                .build());
+        token = jwtService.generateToken(user);
+
+        book = bookRepository.save(Book.builder()
+                .title("Cached Book")
+                .author("Cached Author")
+                .totalCopies(2)
+                .availableCopies(2)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Book Lookup - Repeated Reads Are Served From The Cache")
+    void whenBookReadTwice_thenSecondReadHitsCache() {
+        bookService.getBookById(book.getId());
+        long hits = statistics().getDomainDataRegionStatistics(SecondLevelCacheConfig.BOOKS_REGION).getHitCount();
+        SqlStatementCounter.reset();
+
+        bookService.getBookById(book.getId());
+
+        assertEquals(0, SqlStatementCounter.countSelectsFrom("books"), SqlStatementCounter.statements()::toString);
+        assertTrue(statistics().getDomainDataRegionStatistics(SecondLevelCacheConfig.BOOKS_REGION).getHitCount() > hits);
+    }
+
+    @Test
+    @DisplayName("Borrow And Return - Cached Book Follows The Copy Counts")
+    void whenBorrowAndReturn_thenCachedBookIsCurrent() throws Exception {
+        assertEquals(2, bookService.getBookById(book.getId()).getAvailableCopies());
+
+        mockMvc.perform(authorized(post("/books/" + book.getId() + "/borrow"))).andExpect(status().isOk());
+        assertEquals(1, bookService.getBookById(book.getId()).getAvailableCopies());
+
+        mockMvc.perform(authorized(post("/books/" + book.getId() + "/return"))).andExpect(status().isOk());
+        assertEquals(2, bookService.getBookById(book.getId()).getAvailableCopies());
+    }
+
+    @Test
+    @DisplayName("Rolled Back Borrow - Cached Book Keeps The Committed Copy Count")
+    void whenBorrowRollsBack_thenCachedBookIsNotStale() throws Exception {
+        mockMvc.perform(authorized(post("/books/" + book.getId() + "/borrow"))).andExpect(status().isOk());
+
+        // The copy is taken before the duplicate-borrow insert fails, then rolled back
+        mockMvc.perform(authorized(post("/books/" + book.getId() + "/borrow"))).andExpect(status().isBadRequest());
+
+        assertEquals(1, bookService.getBookById(book.getId()).getAvailableCopies());
+        assertEquals(1, bookRepository.findAvailableCopiesById(book.getId()).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Export - Streamed Rows Are Not Put Into The Cache")
+    void whenBooksAndBorrowsExported_thenCacheIsLeftAlone() throws Exception {
+        mockMvc.perform(post("/books/" + book.getId() + "/borrow").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        entityManagerFactory.getCache().evictAll();
+
+        exportService.exportBooks(ExportFormat.NDJSON, OutputStream.nullOutputStream());
+        exportService.exportBorrows(ExportFormat.CSV, OutputStream.nullOutputStream());
+
+        assertFalse(entityManagerFactory.getCache().contains(Book.class, book.getId()));
+        assertFalse(entityManagerFactory.getCache().contains(User.class, user.getId()));
+    }
+
+    @Test
+    @DisplayName("Username Lookup - Resolved Through The Natural-Id Cache")
+    void whenUserLoadedByUsernameTwice_thenNoSecondQuery() {
+        userRepository.findByUsername(user.getUsername()).orElseThrow();
+        SqlStatementCounter.reset();
+
+        User found = userRepository.findByUsername(user.getUsername()).orElseThrow();
+
+        assertEquals(user.getId(), found.getId());
+        assertEquals(0, SqlStatementCounter.countSelectsFrom("users"), SqlStatementCounter.statements()::toString);
+        assertTrue(statistics().getNaturalIdStatistics(User.class.getName()).getCacheHitCount() > 0);
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", "Bearer " + token);
+    }
+}
@@ -0,0 +1,57 @@
+package com.library.management.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.library.management.entity.OutboxEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NdjsonFileSinkTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Happy Path - Batches Are Appended One Event Per Line")
+    void whenBatchesPublished_thenAppendedInOrder() throws Exception {
+        Path file = directory.resolve("outbox/events.ndjson");
+        NdjsonFileSink sink = new NdjsonFileSink(objectMapper, file);
+
+        sink.publish(List.of(event(1L, OutboxEvent.Type.BOOK_CREATED, null), event(2L, OutboxEvent.Type.BOOK_BORROWED, 7L)));
+        sink.publish(List.of(event(3L, OutboxEvent.Type.BOOK_RETURNED, 7L)));
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(3, lines.size());
+        JsonNode borrowed = objectMapper.readTree(lines.get(1));
+        assertEquals(2, borrowed.get("id").asLong());
+        assertEquals("BOOK_BORROWED", borrowed.get("type").asText());
+        assertEquals(7, borrowed.get("userId").asLong());
+        assertEquals("2026-01-01T00:00:00Z", borrowed.get("createdAt").asText());
+        assertFalse(objectMapper.readTree(lines.get(0)).has("userId"));
+        assertEquals(3, objectMapper.readTree(lines.get(2)).get("id").asLong());
+    }
+
+    private static OutboxEvent event(Long id, OutboxEvent.Type type, Long userId) {
+        return OutboxEvent.builder()
+                .id(id)
+                .type(type)
+                .bookId(42L)
+                .userId(userId)
+                .createdAt(Instant.parse("2026-01-01T00:00:00Z"))
+                .build();
+    }
+}
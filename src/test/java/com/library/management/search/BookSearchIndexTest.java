@@ -0,0 +1,147 @@
+package com.library.management.search;
+
+import com.library.management.entity.Book;
+import com.library.management.repository.BookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BookSearchIndexTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private BookSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(bookRepository.findPageById(eq(0L), any())).thenReturn(List.of(
+                book(1L, "The Hobbit", "J. R. R. Tolkien"),
+                book(2L, "Hobbit Lore", "Someone Else"),
+                book(3L, "A Study of the Hobbit", "Scholar"),
+                book(4L, "Dune", "Frank Herbert")
+        ));
+        index = new BookSearchIndex(bookRepository, 100);
+        index.build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Happy Path - Matches Are Case-Insensitive And Ranked")
+    void whenSearch_thenPrefixMatchesRankFirst() {
+        List<Long> ids = index.search("HOBBIT");
+
+        assertEquals(List.of(2L, 1L, 3L), ids);
+        assertTrue(index.isReady());
+    }
+
+    @Test
+    @DisplayName("Happy Path - Author Matches Are Found")
+    void whenSearchByAuthor_thenBookIsFound() {
+        assertEquals(List.of(1L), index.search("tolkien"));
+    }
+
+    @Test
+    @DisplayName("Happy Path - Short Queries Still Match Substrings")
+    void whenQueryShorterThanTrigram_thenSubstringMatchesAreReturned() {
+        assertEquals(List.of(4L), index.search("du"));
+    }
+
+    @Test
+    @DisplayName("Short Query - Matches Word Starts Only And Ranks A Bounded Candidate Set")
+    void whenQueryShorterThanTrigram_thenOnlyWordStartsAreCandidates() {
+        assertEquals(List.of(3L), index.search("st"));
+        assertTrue(index.search("ob").isEmpty());
+
+        for (long id = 10; id < 10 + BookSearchIndex.SHORT_QUERY_CANDIDATES + 500; id++) {
+            index.add(book(id, "Zebra " + id, "Nobody"));
+        }
+
+        List<Long> ids = index.search("z");
+        assertEquals(100, ids.size());
+        assertEquals(10L, ids.get(0));
+        assertEquals(109L, ids.get(99));
+    }
+
+    @Test
+    @DisplayName("Large Catalog - Rare And Common Trigrams Intersect And Only The Best Results Are Kept")
+    void whenManyBooksMatch_thenBestMaxResultsAreReturnedInOrder() {
+        for (long id = 10; id < 5010; id++) {
+            index.add(book(id, "The Collected Works Volume " + id, "Author " + id % 500));
+        }
+        index.add(book(9000L, "Volume 42", "Editor"));
+
+        List<Long> ids = index.search("volume 42");
+
+        // 111 books match; the exact title found last still ranks first
+        assertEquals(100, ids.size());
+        assertEquals(List.of(9000L, 42L, 420L), ids.subList(0, 3));
+        assertEquals(4287L, ids.get(99));
+        assertEquals(List.of(4242L), index.search("volume 4242"));
+    }
+
+    @Test
+    @DisplayName("Unhappy Path - Trigrams Present But Not Contiguous")
+    void whenTrigramsMatchButSubstringDoesNot_thenNoResult() {
+        assertTrue(index.search("hobbit dune").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Happy Path - Updates And Deletes Are Reflected")
+    void whenBookUpdatedOrRemoved_thenSearchReflectsIt() {
+        index.add(book(4L, "Dune Messiah", "Frank Herbert"));
+        index.add(book(5L, "Children of Dune", "Frank Herbert"));
+        index.remove(2L);
+
+        assertEquals(List.of(4L, 5L), index.search("dune"));
+        assertEquals(List.of(1L, 3L), index.search("hobbit"));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    @DisplayName("Transaction - Changes Are Applied On Commit And Dropped On Rollback")
+    void whenChangedInTransaction_thenAppliedOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        index.add(book(5L, "Children of Dune", "Frank Herbert"));
+        index.remove(4L);
+
+        assertEquals(List.of(4L), index.search("dune"));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(List.of(5L), index.search("dune"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.add(book(6L, "Dune Messiah", "Frank Herbert"));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertEquals(List.of(5L), index.search("dune"));
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static Book book(Long id, String title, String author) {
+        return Book.builder().id(id).title(title).author(author).available(true).build();
+    }
+}
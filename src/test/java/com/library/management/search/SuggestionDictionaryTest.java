@@ -0,0 +1,53 @@
+package com.library.management.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SuggestionDictionaryTest {
+
+    @Test
+    @DisplayName("Happy Path - Heaviest Completions Come First")
+    void whenPrefixMatches_thenCompletionsAreOrderedByWeight() {
+        SuggestionDictionary dictionary = new SuggestionDictionary.Builder()
+                .add("Terry Pratchett")
+                .add("Terry Pratchett")
+                .add("Terry Pratchett")
+                .add("Terry Brooks")
+                .add("The Hobbit")
+                .add("The Hobbit")
+                .add("Tess of the d'Urbervilles")
+                .add("Dune")
+                .build();
+
+        assertEquals(List.of("Terry Pratchett", "The Hobbit", "Terry Brooks"), dictionary.suggest("t", 3));
+        assertEquals(List.of("Terry Pratchett", "Terry Brooks"), dictionary.suggest("TERRY", 10));
+        assertEquals(List.of("Dune"), dictionary.suggest("du", 10));
+    }
+
+    @Test
+    @DisplayName("Happy Path - Every Term In A Large Range Is Reachable")
+    void whenLimitExceedsRange_thenWholeRangeIsReturned() {
+        SuggestionDictionary.Builder builder = new SuggestionDictionary.Builder();
+        for (int i = 0; i < 1_000; i++) {
+            builder.add("book " + i);
+        }
+        SuggestionDictionary dictionary = builder.add("other").build();
+
+        assertEquals(1_000, dictionary.suggest("book", 5_000).size());
+        assertEquals(List.of("book 0", "book 1", "book 10"), dictionary.suggest("book", 3));
+    }
+
+    @Test
+    @DisplayName("Unhappy Path - Unknown Or Empty Prefix")
+    void whenPrefixUnknown_thenNoSuggestions() {
+        SuggestionDictionary dictionary = new SuggestionDictionary.Builder().add("Dune").build();
+
+        assertTrue(dictionary.suggest("x", 10).isEmpty());
+        assertTrue(dictionary.suggest("  ", 10).isEmpty());
+        assertTrue(SuggestionDictionary.EMPTY.suggest("d", 10).isEmpty());
+    }
+}
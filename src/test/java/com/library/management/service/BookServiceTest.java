@@ -1,9 +1,18 @@
 package com.library.management.service;
 
+import com.library.management.cache.AvailabilityCounter;
+import com.library.management.cache.BorrowStamps;
+import com.library.management.cache.CatalogVersion;
 import com.library.management.dto.BookDto;
+import com.library.management.dto.BookSort;
+import com.library.management.dto.CursorPage;
 import com.library.management.entity.Book;
+import com.library.management.exception.BadRequestException;
 import com.library.management.exception.ResourceNotFoundException;
+import com.library.management.outbox.Outbox;
 import com.library.management.repository.BookRepository;
+import com.library.management.search.BookSearchIndex;
+import com.library.management.search.BookSuggester;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,6 +20,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Arrays;
 import java.util.List;
@@ -27,6 +38,24 @@ public class BookServiceTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    @Mock
+    private BookSuggester bookSuggester;
+
+    @Mock
+    private AvailabilityCounter availabilityCounter;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
+    @Mock
+    private BorrowStamps borrowStamps;
+
+    @Mock
+    private Outbox outbox;
+
     @InjectMocks
     private BookService bookService;
 
@@ -35,6 +64,9 @@ public class BookServiceTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(bookService, "defaultPageSize", 20);
+        ReflectionTestUtils.setField(bookService, "maxPageSize", 100);
+
         book = Book.builder()
                 .id(1L)
                 .title("Test Book")
@@ -83,13 +115,44 @@ public class BookServiceTest {
                 Book.builder().id(2L).title("Book 2").author("Author 2").available(true).build()
         );
 
-        when(bookRepository.findAll()).thenReturn(books);
+        when(bookRepository.findPageById(0L, PageRequest.ofSize(21))).thenReturn(books);
 
-        List<BookDto> foundBooks = bookService.getAllBooks();
+        CursorPage<BookDto> foundBooks = bookService.getAllBooks(null, null, BookSort.ID);
 
         assertNotNull(foundBooks);
-        assertEquals(2, foundBooks.size());
-        verify(bookRepository).findAll();
+        assertEquals(2, foundBooks.getItems().size());
+        assertNull(foundBooks.getNextCursor());
+        verify(bookRepository).findPageById(0L, PageRequest.ofSize(21));
+    }
+
+    @Test
+    @DisplayName("Happy Path - Next Page Continues After Last Row")
+    void whenPageIsFull_thenNextCursorSeeksPastLastRow() {
+        Book second = Book.builder().id(2L).title("Book 2").author("Author 2").available(true).build();
+        Book third = Book.builder().id(3L).title("Book 3").author("Author 3").available(true).build();
+        when(bookRepository.findAvailablePageByTitle("", 0L, PageRequest.ofSize(3)))
+                .thenReturn(Arrays.asList(book, second, third));
+        when(bookRepository.findAvailablePageByTitle("Book 2", 2L, PageRequest.ofSize(3)))
+                .thenReturn(List.of(third));
+
+        CursorPage<BookDto> firstPage = bookService.getAvailableBooks(null, 2, BookSort.TITLE);
+        CursorPage<BookDto> secondPage = bookService.getAvailableBooks(firstPage.getNextCursor(), 2, BookSort.TITLE);
+
+        assertEquals(2, firstPage.getSize());
+        assertNotNull(firstPage.getNextCursor());
+        assertEquals(1, secondPage.getSize());
+        assertEquals(3L, secondPage.getItems().get(0).getId());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Unhappy Path - Malformed Cursor")
+    void whenCursorMalformed_thenBadRequestExceptionShouldBeThrown() {
+        assertThrows(BadRequestException.class, () -> {
+            bookService.getAvailableBooks("not-a-cursor", null, BookSort.ID);
+        });
+
+        verifyNoInteractions(bookRepository);
     }
 
     @Test
@@ -102,6 +165,8 @@ public class BookServiceTest {
         assertNotNull(savedBook);
         assertEquals(bookDto.getTitle(), savedBook.getTitle());
         verify(bookRepository).save(any(Book.class));
+        verify(bookSearchIndex).add(book);
+        verify(bookSuggester).scheduleRebuild();
     }
 
     @Test
@@ -126,6 +191,39 @@ public class BookServiceTest {
         verify(bookRepository).save(any(Book.class));
     }
 
+    @Test
+    @DisplayName("Happy Path - Update Book Copies")
+    void whenUpdateBookWithMoreCopies_thenCopiesAreResized() {
+        Book resized = Book.builder().id(1L).title("Test Book").author("Test Author")
+                .totalCopies(3).availableCopies(3).build();
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book)).thenReturn(Optional.of(resized));
+        when(bookRepository.save(any(Book.class))).thenReturn(book);
+        when(bookRepository.resizeCopies(1L, 3)).thenReturn(1);
+        bookDto.setTotalCopies(3);
+
+        BookDto result = bookService.updateBook(1L, bookDto);
+
+        assertEquals(3, result.getTotalCopies());
+        assertEquals(3, result.getAvailableCopies());
+        verify(availabilityCounter).invalidate(1L);
+    }
+
+    @Test
+    @DisplayName("Unhappy Path - Shrink Copies Below Borrowed Count")
+    void whenCopiesReducedBelowBorrowed_thenBadRequestExceptionShouldBeThrown() {
+        book.setTotalCopies(3);
+        book.setAvailableCopies(0);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        when(bookRepository.save(any(Book.class))).thenReturn(book);
+        when(bookRepository.resizeCopies(1L, 2)).thenReturn(0);
+
+        assertThrows(BadRequestException.class, () -> {
+            bookService.patchBook(1L, Map.of("totalCopies", 2));
+        });
+
+        verify(availabilityCounter, never()).invalidate(any());
+    }
+
     @Test
     @DisplayName("Happy Path - Patch Book")
     void whenPatchBook_thenOnlyProvidedFieldsShouldBeUpdated() {
@@ -207,4 +305,32 @@ public class BookServiceTest {
         verify(bookRepository).findById(99L);
         verify(bookRepository, never()).delete(any(Book.class));
     }
+
+    @Test
+    @DisplayName("Happy Path - Search Returns Books In Index Rank Order")
+    void whenSearchBooks_thenResultsFollowIndexRanking() {
+        Book second = Book.builder().id(2L).title("Another Test").author("Author 2").available(true).build();
+        when(bookSearchIndex.isReady()).thenReturn(true);
+        when(bookSearchIndex.search("test")).thenReturn(List.of(2L, 1L));
+        when(bookRepository.findAllById(List.of(2L, 1L))).thenReturn(Arrays.asList(book, second));
+
+        List<BookDto> results = bookService.searchBooks("test");
+
+        assertEquals(2, results.size());
+        assertEquals(2L, results.get(0).getId());
+        assertEquals(1L, results.get(1).getId());
+        verify(bookRepository, never()).findByTitleContainingOrAuthorContaining(any(), any());
+    }
+
+    @Test
+    @DisplayName("Happy Path - Search Falls Back To Repository While Index Builds")
+    void whenIndexNotReady_thenRepositoryQueryIsUsed() {
+        when(bookSearchIndex.isReady()).thenReturn(false);
+        when(bookRepository.findByTitleContainingOrAuthorContaining("test", "test")).thenReturn(List.of(book));
+
+        List<BookDto> results = bookService.searchBooks("test");
+
+        assertEquals(1, results.size());
+        verify(bookSearchIndex, never()).search(any());
+    }
 }
@@ -1,11 +1,19 @@
 package com.library.management.service;
 
+import com.library.management.cache.AvailabilityCounter;
+import com.library.management.cache.BorrowStamps;
+import com.library.management.cache.CatalogVersion;
+import com.library.management.dto.BatchItemResult;
+import com.library.management.dto.BatchResult;
 import com.library.management.dto.BorrowDto;
 import com.library.management.entity.Book;
 import com.library.management.entity.Borrow;
+import com.library.management.entity.OutboxEvent;
 import com.library.management.entity.User;
 import com.library.management.exception.BadRequestException;
 import com.library.management.exception.ResourceNotFoundException;
+import com.library.management.outbox.Outbox;
+import com.library.management.repository.BookRepository;
 import com.library.management.repository.BorrowRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,6 +22,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -30,12 +40,27 @@ public class BorrowServiceTest {
     @Mock
     private BorrowRepository borrowRepository;
 
+    @Mock
+    private BookRepository bookRepository;
+
     @Mock
     private BookService bookService;
 
     @Mock
     private AuthService authService;
 
+    @Mock
+    private AvailabilityCounter availabilityCounter;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
+    @Mock
+    private BorrowStamps borrowStamps;
+
+    @Mock
+    private Outbox outbox;
+
     @InjectMocks
     private BorrowService borrowService;
 
@@ -71,22 +96,22 @@ public class BorrowServiceTest {
     @Test
     @DisplayName("Happy Path - Get All Borrowed Books")
     void whenGetAllBorrowedBooks_thenReturnAllBorrowedBooks() {
-        List<Borrow> borrows = Arrays.asList(borrow);
-        when(borrowRepository.findByReturnedAtIsNull()).thenReturn(borrows);
+        List<BorrowDto> borrows = Arrays.asList(borrowDto());
+        when(borrowRepository.findOpenBorrows()).thenReturn(borrows);
 
         List<BorrowDto> result = borrowService.getAllBorrowedBooks();
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(borrow.getId(), result.get(0).getId());
-        verify(borrowRepository).findByReturnedAtIsNull();
+        verify(borrowRepository).findOpenBorrows();
     }
 
     @Test
     @DisplayName("Happy Path - Get User Borrow History")
     void whenGetUserBorrowHistory_thenReturnUserBorrows() {
         when(authService.getCurrentUser()).thenReturn(user);
-        when(borrowRepository.findByUserOrderByBorrowedAtDesc(user)).thenReturn(Arrays.asList(borrow));
+        when(borrowRepository.findHistoryByUserId(user.getId())).thenReturn(Arrays.asList(borrowDto()));
 
         List<BorrowDto> result = borrowService.getUserBorrowHistory();
 
@@ -94,40 +119,90 @@ public class BorrowServiceTest {
         assertEquals(1, result.size());
         assertEquals(borrow.getId(), result.get(0).getId());
         verify(authService).getCurrentUser();
-        verify(borrowRepository).findByUserOrderByBorrowedAtDesc(user);
+        verify(borrowRepository).findHistoryByUserId(user.getId());
     }
 
     @Test
     @DisplayName("Happy Path - Borrow Book")
     void whenBorrowBook_thenBookShouldBeBorrowed() {
         when(authService.getCurrentUser()).thenReturn(user);
+        when(availabilityCounter.tryAcquire(1L)).thenReturn(true);
+        when(bookRepository.markBorrowed(1L)).thenReturn(1);
         when(bookService.getBookEntityById(1L)).thenReturn(book);
-        when(borrowRepository.save(any(Borrow.class))).thenReturn(borrow);
+        when(borrowRepository.saveAndFlush(any(Borrow.class))).thenReturn(borrow);
 
         BorrowDto result = borrowService.borrowBook(1L);
 
         assertNotNull(result);
         assertEquals(borrow.getId(), result.getId());
-        assertFalse(book.getAvailable());
         verify(authService).getCurrentUser();
+        verify(bookRepository).markBorrowed(1L);
         verify(bookService).getBookEntityById(1L);
-        verify(borrowRepository).save(any(Borrow.class));
+        verify(borrowRepository).saveAndFlush(argThat(saved -> Long.valueOf(1L).equals(saved.getOpenBookId())));
+        verify(catalogVersion).bump();
+        verify(outbox).borrowChanged(OutboxEvent.Type.BOOK_BORROWED, 1L, user.getId(), borrow.getId());
     }
 
     @Test
-    @DisplayName("Unhappy Path - Borrow Unavailable Book")
-    void whenBorrowUnavailableBook_thenBadRequestExceptionShouldBeThrown() {
-        book.setAvailable(false);
+    @DisplayName("Unhappy Path - Borrow Book With No Copies Left")
+    void whenNoCopiesLeftInCounter_thenBadRequestExceptionShouldBeThrownWithoutWrite() {
         when(authService.getCurrentUser()).thenReturn(user);
+        when(availabilityCounter.tryAcquire(1L)).thenReturn(false);
         when(bookService.getBookEntityById(1L)).thenReturn(book);
 
         assertThrows(BadRequestException.class, () -> {
             borrowService.borrowBook(1L);
         });
 
-        verify(authService).getCurrentUser();
-        verify(bookService).getBookEntityById(1L);
-        verify(borrowRepository, never()).save(any(Borrow.class));
+        verify(bookRepository, never()).markBorrowed(any());
+        verify(borrowRepository, never()).saveAndFlush(any(Borrow.class));
+    }
+
+    @Test
+    @DisplayName("Unhappy Path - Borrow Book Whose Last Copy Was Taken Elsewhere")
+    void whenDatabaseHasNoCopiesLeft_thenCounterIsInvalidated() {
+        when(authService.getCurrentUser()).thenReturn(user);
+        when(availabilityCounter.tryAcquire(1L)).thenReturn(true);
+        when(bookRepository.markBorrowed(1L)).thenReturn(0);
+
+        assertThrows(BadRequestException.class, () -> {
+            borrowService.borrowBook(1L);
+        });
+
+        verify(availabilityCounter).invalidate(1L);
+        verify(borrowRepository, never()).saveAndFlush(any(Borrow.class));
+        verify(catalogVersion, never()).bump();
+    }
+
+    @Test
+    @DisplayName("Unhappy Path - Borrow Unknown Book")
+    void whenBorrowUnknownBook_thenResourceNotFoundExceptionShouldBeThrown() {
+        when(authService.getCurrentUser()).thenReturn(user);
+        when(availabilityCounter.tryAcquire(99L)).thenReturn(false);
+        when(bookService.getBookEntityById(99L)).thenThrow(new ResourceNotFoundException("Book not found with id: 99"));
+
+        assertThrows(ResourceNotFoundException.class, () -> {
+            borrowService.borrowBook(99L);
+        });
+
+        verify(borrowRepository, never()).saveAndFlush(any(Borrow.class));
+    }
+
+    @Test
+    @DisplayName("Unhappy Path - Borrow Second Copy Of The Same Book")
+    void whenOpenBorrowConstraintViolated_thenBadRequestExceptionShouldBeThrown() {
+        when(authService.getCurrentUser()).thenReturn(user);
+        when(availabilityCounter.tryAcquire(1L)).thenReturn(true);
+        when(bookRepository.markBorrowed(1L)).thenReturn(1);
+        when(bookService.getBookEntityById(1L)).thenReturn(book);
+        when(borrowRepository.saveAndFlush(any(Borrow.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_borrows_open_book_user"));
+
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> {
+            borrowService.borrowBook(1L);
+        });
+
+        assertEquals("You have already borrowed this book", exception.getMessage());
     }
 
     @Test
@@ -138,17 +213,22 @@ public class BorrowServiceTest {
         when(borrowRepository.findByBookAndUserAndReturnedAtIsNull(book, user))
                 .thenReturn(Optional.of(borrow));
         when(borrowRepository.save(any(Borrow.class))).thenReturn(borrow);
+        when(bookRepository.markReturned(1L)).thenReturn(1);
 
         BorrowDto result = borrowService.returnBook(1L);
 
         assertNotNull(result);
         assertEquals(borrow.getId(), result.getId());
-        assertTrue(book.getAvailable());
         assertNotNull(borrow.getReturnedAt());
+        assertNull(borrow.getOpenBookId());
         verify(authService).getCurrentUser();
         verify(bookService).getBookEntityById(1L);
         verify(borrowRepository).findByBookAndUserAndReturnedAtIsNull(book, user);
         verify(borrowRepository).save(any(Borrow.class));
+        verify(bookRepository).markReturned(1L);
+        verify(availabilityCounter).release(1L);
+        verify(catalogVersion).bump();
+        verify(outbox).borrowChanged(OutboxEvent.Type.BOOK_RETURNED, 1L, user.getId(), borrow.getId());
     }
 
     @Test
@@ -167,5 +247,74 @@ public class BorrowServiceTest {
         verify(bookService).getBookEntityById(1L);
         verify(borrowRepository).findByBookAndUserAndReturnedAtIsNull(book, user);
         verify(borrowRepository, never()).save(any(Borrow.class));
+        verify(bookRepository, never()).markReturned(any());
+    }
+
+    @Test
+    @DisplayName("Happy Path - Batch Borrow Reports Each Book")
+    void whenBatchBorrow_thenEachBookIsReported() {
+        ReflectionTestUtils.setField(borrowService, "maxBatchSize", 50);
+        Book second = Book.builder().id(2L).title("Second Book").author("Author").build();
+        Book third = Book.builder().id(3L).title("Third Book").author("Author").build();
+        Book fourth = Book.builder().id(4L).title("Fourth Book").author("Author").build();
+        when(authService.getCurrentUser()).thenReturn(user);
+        when(bookRepository.findAllById(List.of(1L, 2L, 3L, 4L, 99L))).thenReturn(List.of(book, second, third, fourth));
+        when(borrowRepository.findOpenBookIdsByUserId(1L, List.of(1L, 2L, 3L, 4L, 99L))).thenReturn(List.of(4L));
+        when(availabilityCounter.tryAcquire(1L, 1)).thenReturn(true);
+        when(availabilityCounter.tryAcquire(2L, 1)).thenReturn(true);
+        when(availabilityCounter.tryAcquire(3L, 1)).thenReturn(false);
+        when(bookRepository.markBorrowedAll(List.of(1L, 2L))).thenReturn(new int[]{1, 0});
+
+        BatchResult result = borrowService.borrowBooks(List.of(1L, 2L, 3L, 4L, 99L, 1L));
+
+        assertEquals(1, result.getSucceeded());
+        assertEquals(4, result.getFailed());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 99L),
+                result.getItems().stream().map(BatchItemResult::getBookId).toList());
+        assertTrue(result.getItems().get(0).isSuccess());
+        assertEquals("Book is not available for borrowing", result.getItems().get(1).getError());
+        assertEquals("Book is not available for borrowing", result.getItems().get(2).getError());
+        assertEquals("You have already borrowed this book", result.getItems().get(3).getError());
+        assertEquals("Book not found with id: 99", result.getItems().get(4).getError());
+        verify(availabilityCounter).invalidate(2L);
+        verify(borrowRepository).saveAllAndFlush(argThat(borrows -> borrows.spliterator().getExactSizeIfKnown() == 1));
+    }
+
+    @Test
+    @DisplayName("Unhappy Path - Batch Larger Than The Limit")
+    void whenBatchTooLarge_thenBadRequestExceptionShouldBeThrown() {
+        ReflectionTestUtils.setField(borrowService, "maxBatchSize", 2);
+        when(authService.getCurrentUser()).thenReturn(user);
+
+        assertThrows(BadRequestException.class, () -> {
+            borrowService.borrowBooks(List.of(1L, 2L, 3L));
+        });
+
+        verify(bookRepository, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("Happy Path - Batch Return Reports Each Book")
+    void whenBatchReturn_thenOpenBorrowsAreClosed() {
+        ReflectionTestUtils.setField(borrowService, "maxBatchSize", 50);
+        borrow.setOpenBookId(1L);
+        when(authService.getCurrentUser()).thenReturn(user);
+        when(borrowRepository.findOpenByUserIdAndBookIds(1L, List.of(1L, 2L))).thenReturn(List.of(borrow));
+        when(bookRepository.markReturnedAll(List.of(1L))).thenReturn(new int[]{1});
+
+        BatchResult result = borrowService.returnBooks(List.of(1L, 2L));
+
+        assertEquals(1, result.getSucceeded());
+        assertEquals(1, result.getFailed());
+        assertNotNull(borrow.getReturnedAt());
+        assertNull(borrow.getOpenBookId());
+        assertEquals("Borrow record not found for this book and user", result.getItems().get(1).getError());
+        verify(borrowRepository).flush();
+        verify(availabilityCounter).release(1L);
+    }
+
+    private BorrowDto borrowDto() {
+        return new BorrowDto(borrow.getId(), user.getId(), user.getUsername(), book.getId(), book.getTitle(),
+                borrow.getBorrowedAt(), borrow.getReturnedAt());
     }
 }
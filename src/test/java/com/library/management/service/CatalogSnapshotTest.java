@@ -0,0 +1,117 @@
+package com.library.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.management.cache.CatalogVersion;
+import com.library.management.dto.BookDto;
+import com.library.management.dto.BookSort;
+import com.library.management.dto.CursorPage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CatalogSnapshotTest {
+
+    @Mock
+    private BookService bookService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CatalogVersion catalogVersion = new CatalogVersion();
+    private CatalogSnapshot catalogSnapshot;
+    private CursorPage<BookDto> page;
+
+    @BeforeEach
+    void setUp() {
+        // A long delay keeps scheduled rebuilds out of the way; the tests rebuild explicitly
+        catalogSnapshot = new CatalogSnapshot(bookService, catalogVersion, objectMapper, 60_000, 60_000, true);
+        page = CursorPage.<BookDto>builder()
+                .items(List.of(BookDto.builder().id(1L).title("Test Book").author("Test Author")
+                        .totalCopies(2).availableCopies(1).available(true).build()))
+                .size(1)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalogSnapshot.shutdown();
+    }
+
+    @Test
+    @DisplayName("Rebuild - Snapshot Holds The Encoded Default Page")
+    void whenRebuilt_thenSnapshotHoldsEncodedPage() throws Exception {
+        when(bookService.getAvailableBooks(null, null, BookSort.ID)).thenReturn(page);
+
+        catalogSnapshot.rebuild();
+
+        CatalogSnapshot.Snapshot snapshot = catalogSnapshot.current();
+        assertNotNull(snapshot);
+        assertArrayEquals(objectMapper.writeValueAsBytes(page), snapshot.json());
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzip()))) {
+            assertArrayEquals(snapshot.json(), gzip.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Catalog Change - Stale Snapshot Is Not Served")
+    void whenCatalogChanges_thenSnapshotIsNotServed() {
+        when(bookService.getAvailableBooks(null, null, BookSort.ID)).thenReturn(page);
+        catalogSnapshot.rebuild();
+
+        catalogVersion.bump();
+
+        assertNull(catalogSnapshot.current());
+        catalogSnapshot.rebuild();
+        assertNotNull(catalogSnapshot.current());
+    }
+
+    @Test
+    @DisplayName("Max Age - Old Snapshot Is Not Served Even Without A Local Change")
+    void whenSnapshotOlderThanMaxAge_thenNotServed() throws Exception {
+        catalogSnapshot.shutdown();
+        catalogSnapshot = new CatalogSnapshot(bookService, catalogVersion, objectMapper, 60_000, 50, true);
+        when(bookService.getAvailableBooks(null, null, BookSort.ID)).thenReturn(page);
+        catalogSnapshot.rebuild();
+        assertNotNull(catalogSnapshot.current());
+
+        Thread.sleep(100);
+
+        // Another instance may have changed the catalog in the meantime
+        assertNull(catalogSnapshot.current());
+        catalogSnapshot.rebuild();
+        assertNotNull(catalogSnapshot.current());
+    }
+
+    @Test
+    @DisplayName("Change During Rebuild - Snapshot Is Already Stale")
+    void whenCatalogChangesDuringRebuild_thenSnapshotIsNotServed() {
+        when(bookService.getAvailableBooks(null, null, BookSort.ID)).thenAnswer(invocation -> {
+            catalogVersion.bump();
+            return page;
+        });
+
+        catalogSnapshot.rebuild();
+
+        assertNull(catalogSnapshot.current());
+    }
+
+    @Test
+    @DisplayName("Failed Rebuild - Requests Fall Back To The Database")
+    void whenRebuildFails_thenNoSnapshot() {
+        when(bookService.getAvailableBooks(null, null, BookSort.ID)).thenThrow(new IllegalStateException("down"));
+
+        catalogSnapshot.rebuild();
+
+        assertNull(catalogSnapshot.current());
+    }
+}
@@ -0,0 +1,35 @@
+package com.library.management.service;
+
+import com.library.management.exception.BadRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsvRecordReaderTest {
+
+    @Test
+    @DisplayName("Happy Path - Quoted Fields Keep Commas, Quotes And Line Breaks")
+    void whenFieldsQuoted_thenTheyAreUnescaped() throws Exception {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(
+                "title,author\r\n\"Export, \"\"Quoted\"\"\",Someone\r\n\"Two\nLines\",\n\nlast,row"));
+
+        assertEquals(List.of("title", "author"), reader.next());
+        assertEquals(List.of("Export, \"Quoted\"", "Someone"), reader.next());
+        assertEquals(List.of("Two\nLines", ""), reader.next());
+        assertEquals(List.of("last", "row"), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("Unhappy Path - Unterminated Quote Is Rejected")
+    void whenQuoteNotClosed_thenBadRequestExceptionShouldBeThrown() throws Exception {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("title,author\n\"open,quote\n"));
+
+        reader.next();
+        assertThrows(BadRequestException.class, reader::next);
+    }
+}
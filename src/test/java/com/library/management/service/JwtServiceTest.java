@@ -0,0 +1,103 @@
+package com.library.management.service;
+
+import com.library.management.entity.User;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtServiceTest {
+
+    private static final String SECRET = "TestJWTSecretKeydgbggdngrnhrnrnhrhhnrhnrnhrnhrvguv";
+
+    private JwtService jwtService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = newJwtService(86400000L);
+
+        user = User.builder()
+                .id(1L)
+                .username("testuser")
+                .password("password")
+                .role(User.Role.USER)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Happy Path - Generated Token Parses Back To Its Subject")
+    void whenTokenGenerated_thenClaimsContainSubject() {
+        String token = jwtService.generateToken(user);
+
+        JwtClaims claims = jwtService.parseToken(token);
+
+        assertEquals("testuser", jwtService.extractUsername(claims));
+        assertNotNull(claims.getIssuedAt());
+        assertTrue(jwtService.isTokenValid(claims, user));
+    }
+
+    @Test
+    @DisplayName("Unhappy Path - Token Of Another User Is Not Valid")
+    void whenTokenOfOtherUser_thenTokenIsNotValid() {
+        User other = User.builder().id(2L).username("other").role(User.Role.USER).build();
+
+        JwtClaims claims = jwtService.parseToken(jwtService.generateToken(other));
+
+        assertFalse(jwtService.isTokenValid(claims, user));
+    }
+
+    @Test
+    @DisplayName("Happy Path - Principal Is Rebuilt From Claims")
+    void whenTokenGenerated_thenPrincipalCarriesIdRoleAndEpoch() {
+        user.setRole(User.Role.ADMIN);
+        user.setTokenEpoch(3);
+
+        User principal = jwtService.extractPrincipal(jwtService.parseToken(jwtService.generateToken(user)));
+
+        assertNotNull(principal);
+        assertEquals(1L, principal.getId());
+        assertEquals("testuser", principal.getUsername());
+        assertEquals(User.Role.ADMIN, principal.getRole());
+        assertEquals(3, principal.getTokenEpoch());
+    }
+
+    @Test
+    @DisplayName("Unhappy Path - Token From An Older Epoch Is Not Valid")
+    void whenTokenEpochBumped_thenTokenIsNotValid() {
+        JwtClaims claims = jwtService.parseToken(jwtService.generateRefreshToken(user));
+        user.setTokenEpoch(user.getTokenEpoch() + 1);
+
+        assertFalse(jwtService.isTokenValid(claims, user));
+    }
+
+    @Test
+    @DisplayName("Unhappy Path - Tampered Token Is Rejected")
+    void whenTokenTampered_thenSignatureExceptionShouldBeThrown() {
+        String token = jwtService.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(SignatureException.class, () -> jwtService.parseToken(tampered));
+    }
+
+    @Test
+    @DisplayName("Unhappy Path - Expired Token Is Rejected")
+    void whenTokenExpired_thenExpiredJwtExceptionShouldBeThrown() {
+        String token = newJwtService(-1000L).generateToken(user);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtService.parseToken(token));
+    }
+
+    private static JwtService newJwtService(long expiration) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(service, "jwtExpiration", expiration);
+        ReflectionTestUtils.setField(service, "refreshExpiration", expiration);
+        service.init();
+        return service;
+    }
+}
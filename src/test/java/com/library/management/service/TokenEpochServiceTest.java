@@ -0,0 +1,79 @@
+package com.library.management.service;
+
+import com.library.management.cache.UserCache;
+import com.library.management.entity.User;
+import com.library.management.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TokenEpochServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserCache userCache;
+
+    private TokenEpochService tokenEpochService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        tokenEpochService = new TokenEpochService(userRepository, userCache, 100, 60_000);
+        user = User.builder().id(1L).username("testuser").role(User.Role.USER).tokenEpoch(0).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Revocation - Epoch Cached By A Concurrent Request Before Commit Is Dropped On Commit")
+    void whenEpochCachedBeforeCommit_thenDroppedAfterCommit() {
+        when(userRepository.findTokenEpochById(1L)).thenReturn(Optional.of(0)).thenReturn(Optional.of(1));
+        TransactionSynchronizationManager.initSynchronization();
+
+        tokenEpochService.revokeTokens(user);
+        // A request racing the uncommitted increment still reads, and caches, the old epoch
+        assertTrue(tokenEpochService.isCurrent(user));
+        verify(userCache, never()).evict(any());
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertFalse(tokenEpochService.isCurrent(user));
+        verify(userCache).evict(user);
+    }
+
+    @Test
+    @DisplayName("Revocation - Rolled Back Revocation Keeps The Cached Epoch")
+    void whenRevocationRolledBack_thenCacheKept() {
+        when(userRepository.findTokenEpochById(1L)).thenReturn(Optional.of(0));
+        assertTrue(tokenEpochService.isCurrent(user));
+        TransactionSynchronizationManager.initSynchronization();
+
+        tokenEpochService.revokeTokens(user);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertTrue(tokenEpochService.isCurrent(user));
+        verify(userRepository, times(1)).findTokenEpochById(1L);
+        verify(userCache, never()).evict(any());
+    }
+}
@@ -1,5 +1,6 @@
 package com.library.management.service;
 
+import com.library.management.cache.UserCache;
 import com.library.management.dto.UserDto;
 import com.library.management.entity.User;
 import com.library.management.exception.ResourceNotFoundException;
@@ -24,6 +25,12 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private TokenEpochService tokenEpochService;
+
     @InjectMocks
     private UserService userService;
 
@@ -49,74 +56,111 @@ public class UserServiceTest {
     @Test
     @DisplayName("Happy Path - Load User By Username")
     void whenValidUsername_thenUserShouldBeFound() {
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(userCache.findByUsername("testuser")).thenReturn(Optional.of(user));
 
         assertDoesNotThrow(() -> {
             userService.loadUserByUsername("testuser");
         });
 
-        verify(userRepository).findByUsername("testuser");
+        verify(userCache).findByUsername("testuser");
     }
 
     @Test
     @DisplayName("Unhappy Path - Load User By Invalid Username")
     void whenInvalidUsername_thenUsernameNotFoundExceptionShouldBeThrown() {
-        when(userRepository.findByUsername("invalid")).thenReturn(Optional.empty());
+        when(userCache.findByUsername("invalid")).thenReturn(Optional.empty());
 
         assertThrows(UsernameNotFoundException.class, () -> {
             userService.loadUserByUsername("invalid");
         });
 
-        verify(userRepository).findByUsername("invalid");
+        verify(userCache).findByUsername("invalid");
     }
 
     @Test
     @DisplayName("Happy Path - Get User By ID")
     void whenValidId_thenUserShouldBeFound() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userCache.findById(1L)).thenReturn(Optional.of(user));
 
         UserDto found = userService.getUserById(1L);
 
         assertNotNull(found);
         assertEquals(user.getId(), found.getId());
         assertEquals(user.getUsername(), found.getUsername());
-        verify(userRepository).findById(1L);
+        verify(userCache).findById(1L);
     }
 
     @Test
     @DisplayName("Unhappy Path - Get User By Invalid ID")
     void whenInvalidId_thenResourceNotFoundExceptionShouldBeThrown() {
-        when(userRepository.findById(99L)).thenReturn(Optional.empty());
+        when(userCache.findById(99L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> {
             userService.getUserById(99L);
         });
 
-        verify(userRepository).findById(99L);
+        verify(userCache).findById(99L);
     }
 
     @Test
     @DisplayName("Happy Path - Get User By Username")
     void whenValidUsername_thenUserDtoShouldBeReturned() {
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(userCache.findByUsername("testuser")).thenReturn(Optional.of(user));
 
         UserDto found = userService.getUserByUsername("testuser");
 
         assertNotNull(found);
         assertEquals(user.getId(), found.getId());
         assertEquals(user.getUsername(), found.getUsername());
-        verify(userRepository).findByUsername("testuser");
+        verify(userCache).findByUsername("testuser");
     }
 
     @Test
     @DisplayName("Unhappy Path - Get User By Invalid Username")
     void whenInvalidUsername_thenResourceNotFoundExceptionShouldBeThrown() {
-        when(userRepository.findByUsername("invalid")).thenReturn(Optional.empty());
+        when(userCache.findByUsername("invalid")).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> {
             userService.getUserByUsername("invalid");
         });
 
-        verify(userRepository).findByUsername("invalid");
+        verify(userCache).findByUsername("invalid");
+    }
+
+    @Test
+    @DisplayName("Happy Path - Update Role Revokes Existing Tokens")
+    void whenRoleUpdated_thenTokensShouldBeRevoked() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        UserDto updated = userService.updateRole(1L, User.Role.ADMIN);
+
+        assertEquals(User.Role.ADMIN, updated.getRole());
+        verify(userRepository).save(user);
+        verify(tokenEpochService).revokeTokens(user);
+    }
+
+    @Test
+    @DisplayName("Unhappy Path - Update Role Of Invalid User")
+    void whenUpdateRoleOfInvalidUser_thenResourceNotFoundExceptionShouldBeThrown() {
+        when(userRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> {
+            userService.updateRole(99L, User.Role.ADMIN);
+        });
+
+        verify(tokenEpochService, never()).revokeTokens(any());
+    }
+
+    @Test
+    @DisplayName("Happy Path - Upgraded Password Hash Is Stored And Cached User Evicted")
+    void whenPasswordUpgraded_thenHashIsStoredAndCacheEvicted() {
+        when(userRepository.updatePassword(1L, "new-hash")).thenReturn(1);
+
+        User upgraded = (User) userService.updatePassword(user, "new-hash");
+
+        assertEquals("new-hash", upgraded.getPassword());
+        assertEquals("password", user.getPassword());
+        verify(userRepository).updatePassword(1L, "new-hash");
+        verify(userCache).evict(user);
     }
 }